@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Compares startup of the default build with the fast-start build
+# (see fast-start.sh). Each variant is started RUNS times on PORT; the
+# "Application ready" and "First request served" times logged by
+# StartupTimeReporter are averaged.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+WORK_DIR="$ROOT/target/startup-benchmark"
+
+measure() {
+    local name="$1"
+    shift
+    local ready_total=0 first_total=0
+    for run in $(seq "$RUNS"); do
+        local log="$WORK_DIR/$name-$run.log"
+        "$@" --server.port="$PORT" > "$log" 2>&1 &
+        local pid=$!
+        until curl -sf "http://localhost:$PORT/api/users" > /dev/null; do
+            kill -0 "$pid" 2> /dev/null || { echo "$name failed to start, see $log" >&2; exit 1; }
+            sleep 0.05
+        done
+        until grep -q "First request served" "$log"; do sleep 0.05; done
+        kill "$pid" && wait "$pid" 2> /dev/null || true
+        ready_total=$((ready_total + $(grep -o 'ready [0-9]* ms' "$log" | grep -o '[0-9]*')))
+        first_total=$((first_total + $(grep -o 'served [0-9]* ms' "$log" | grep -o '[0-9]*')))
+    done
+    printf '%-12s ready %6d ms   first request %6d ms   (average of %d runs)\n' \
+        "$name" $((ready_total / RUNS)) $((first_total / RUNS)) "$RUNS"
+}
+
+cd "$ROOT"
+rm -rf "$WORK_DIR" && mkdir -p "$WORK_DIR"
+
+MVN="${MVN:-./mvnw}"
+
+"$MVN" -B -q -DskipTests package
+cp "$(ls target/user-handler-*.jar | head -n 1)" "$WORK_DIR/default.jar"
+"$MVN" -B -q -Pfast-start -DskipTests package
+scripts/fast-start.sh prepare > "$WORK_DIR/prepare.log" 2>&1
+
+measure default java -jar "$WORK_DIR/default.jar"
+measure fast-start scripts/fast-start.sh run
@@ -0,0 +1,27 @@
+package com.example.userhandler.controller;
+
+import com.example.userhandler.model.InternStats;
+import com.example.userhandler.model.TenantStats;
+import com.example.userhandler.service.TenantService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/api/admin/tenants")
+public class TenantController {
+    private final TenantService tenantService;
+
+    @GetMapping
+    public List<TenantStats> getStats() {
+        return tenantService.getStats();
+    }
+
+    @GetMapping("/intern-pool")
+    public InternStats getInternStats() {
+        return tenantService.getInternStats();
+    }
+}
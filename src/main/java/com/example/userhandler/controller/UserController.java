@@ -1,13 +1,15 @@
 package com.example.userhandler.controller;
 
 import com.example.userhandler.model.User;
+import com.example.userhandler.service.UserReadService;
 import com.example.userhandler.service.UserService;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,9 +23,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RequiredArgsConstructor
 @RestController
-@RequestMapping(value = "/api/users")
+@RequestMapping(value = {"/api/users", "/api/tenants/{tenantId}/users"})
 public class UserController {
     private final UserService userService;
+    private final UserReadService userReadService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -37,16 +40,16 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public List<User> getUsersByBirthDateRange(
+    public ResponseEntity<byte[]> getUsersByBirthDateRange(
             @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
 
-        return userService.getUsersByBirthDateRange(fromDate, toDate);
+        return json(userReadService.getUsersByBirthDateRangeAsJson(fromDate, toDate));
     }
 
     @GetMapping
-    public List<User> getAll() {
-        return userService.findAll();
+    public ResponseEntity<byte[]> getAll() {
+        return json(userReadService.findAllAsJson());
     }
 
     @DeleteMapping("/{email}")
@@ -54,4 +57,10 @@ public class UserController {
     public void deleteUser(@PathVariable String email) {
         userService.deleteUser(email);
     }
+
+    private ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
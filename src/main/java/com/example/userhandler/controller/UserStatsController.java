@@ -0,0 +1,46 @@
+package com.example.userhandler.controller;
+
+import com.example.userhandler.model.AgeBracket;
+import com.example.userhandler.service.UserStatsService;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = {"/api/users/stats", "/api/tenants/{tenantId}/users/stats"})
+public class UserStatsController {
+    private final UserStatsService userStatsService;
+
+    @GetMapping("/count")
+    public long countByBirthDateRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return userStatsService.countByBirthDateRange(fromDate, toDate);
+    }
+
+    @GetMapping("/birth-years")
+    public Map<Integer, Long> countByBirthYear(@RequestParam("from") int fromYear,
+                                               @RequestParam("to") int toYear) {
+        return userStatsService.countByBirthYear(fromYear, toYear);
+    }
+
+    @GetMapping("/birth-months")
+    public Map<YearMonth, Long> countByBirthMonth(
+            @RequestParam("from") @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @RequestParam("to") @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth) {
+        return userStatsService.countByBirthMonth(fromMonth, toMonth);
+    }
+
+    @GetMapping("/age-brackets")
+    public List<AgeBracket> countByAgeBracket(@RequestParam(value = "size", defaultValue = "10") int bracketSize) {
+        return userStatsService.countByAgeBracket(bracketSize);
+    }
+}
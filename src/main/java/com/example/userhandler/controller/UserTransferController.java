@@ -0,0 +1,32 @@
+package com.example.userhandler.controller;
+
+import com.example.userhandler.model.TransferReport;
+import com.example.userhandler.service.UserTransferService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/api/admin/users")
+public class UserTransferController {
+    private final UserTransferService userTransferService;
+
+    @PostMapping("/export")
+    public TransferReport exportUsers(@RequestParam("file") String fileName) {
+        return userTransferService.exportUsers(fileName);
+    }
+
+    @PostMapping("/import")
+    public TransferReport importUsers(@RequestParam("file") String fileName) {
+        return userTransferService.importUsers(fileName);
+    }
+
+    @GetMapping("/transfer")
+    public TransferReport getLastTransfer() {
+        return userTransferService.getLastTransfer();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.userhandler.event;
+
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class UserBirthdayEvent {
+    private final String tenant;
+    private final String email;
+    private final LocalDate date;
+}
@@ -0,0 +1,18 @@
+package com.example.userhandler.event;
+
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published once when a user reaches {@code minAgeAllowed}. Not published
+ * yet, only users that already reached it can be stored, see
+ * {@code BirthdayWheel}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserEligibleEvent {
+    private final String tenant;
+    private final String email;
+    private final LocalDate date;
+}
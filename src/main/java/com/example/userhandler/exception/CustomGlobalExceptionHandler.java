@@ -68,6 +68,28 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         );
     }
 
+    @ExceptionHandler(TenantQuotaExceededException.class)
+    protected ResponseEntity<Object> handleTenantQuotaExceededException(
+            TenantQuotaExceededException ex,
+            WebRequest request
+    ) {
+        Map<String, Object> body = getBody(ex, HttpStatus.INSUFFICIENT_STORAGE);
+        return handleExceptionInternal(
+                ex, body, new HttpHeaders(), HttpStatus.INSUFFICIENT_STORAGE, request
+        );
+    }
+
+    @ExceptionHandler(TransferInProgressException.class)
+    protected ResponseEntity<Object> handleTransferInProgressException(
+            TransferInProgressException ex,
+            WebRequest request
+    ) {
+        Map<String, Object> body = getBody(ex, HttpStatus.CONFLICT);
+        return handleExceptionInternal(
+                ex, body, new HttpHeaders(), HttpStatus.CONFLICT, request
+        );
+    }
+
     @Override
     protected ResponseEntity<Object> handleExceptionInternal(
             Exception ex,
@@ -0,0 +1,11 @@
+package com.example.userhandler.exception;
+
+public class TenantQuotaExceededException extends RuntimeException {
+    public TenantQuotaExceededException(String message) {
+        super(message);
+    }
+
+    public TenantQuotaExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userhandler.exception;
+
+public class TransferInProgressException extends RuntimeException {
+    public TransferInProgressException(String message) {
+        super(message);
+    }
+
+    public TransferInProgressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
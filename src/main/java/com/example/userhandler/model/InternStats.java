@@ -0,0 +1,14 @@
+package com.example.userhandler.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+public class InternStats {
+    private int capacity;
+    private long hits;
+    private long duplicateBytesReplaced;
+}
@@ -0,0 +1,20 @@
+package com.example.userhandler.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+public class TenantStats {
+    private String tenant;
+    private int users;
+    private int coldUsers;
+    private long estimatedBytes;
+    private long maxMemoryBytes;
+    private long requests;
+    private long errors;
+    private long averageLatencyMicros;
+    private long maxLatencyMicros;
+}
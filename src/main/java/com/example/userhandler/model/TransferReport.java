@@ -0,0 +1,37 @@
+package com.example.userhandler.model;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+@Getter
+public class TransferReport {
+    private final String operation;
+    private final String file;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong processedBytes = new AtomicLong();
+    private final AtomicLong processedRecords = new AtomicLong();
+    private final AtomicLong importedRecords = new AtomicLong();
+    private final AtomicLong rejectedRecords = new AtomicLong();
+    /**
+     * Bytes of the file whose users are stored, an import that failed can be
+     * resumed from this offset.
+     */
+    private final AtomicLong committedBytes = new AtomicLong();
+    private volatile String error;
+    private volatile boolean finished;
+
+    public TransferReport(String operation, String file) {
+        this.operation = operation;
+        this.file = file;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+    }
+
+    public void finish() {
+        finished = true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.userhandler.model;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * The age rule shared by registration, import and the eligibility events: a
+ * user is as old as the full years between the birth date and today, so a
+ * user born on February 29 turns a year older on March 1 in common years.
+ */
+public final class UserAge {
+    private UserAge() {
+    }
+
+    public static int of(LocalDate birthDate, LocalDate today) {
+        return Period.between(birthDate, today).getYears();
+    }
+
+    public static boolean isAllowed(LocalDate birthDate, int minAgeAllowed, LocalDate today) {
+        return of(birthDate, today) >= minAgeAllowed && !birthDate.isAfter(today);
+    }
+
+    /**
+     * The first day on which a user born on {@code birthDate} is {@code age}
+     * years old.
+     */
+    public static LocalDate reachedOn(LocalDate birthDate, int age) {
+        LocalDate day = birthDate.plusYears(age);
+        return of(birthDate, day) < age ? day.plusDays(1) : day;
+    }
+}
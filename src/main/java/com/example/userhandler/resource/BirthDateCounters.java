@@ -0,0 +1,82 @@
+package com.example.userhandler.resource;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Number of users per birth date, kept in a Fenwick tree over epoch-day
+ * buckets from {@value #FIRST_YEAR} to {@value #LAST_YEAR}, so counting the
+ * users of any date range takes O(log days). The rare dates outside of that
+ * window are counted in a sorted map. Not thread-safe, guarded by the
+ * owning {@link UserStore}'s lock.
+ */
+class BirthDateCounters {
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2099;
+    private static final long FIRST_DAY = LocalDate.of(FIRST_YEAR, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(LAST_YEAR, 12, 31).toEpochDay();
+
+    private final int[] tree = new int[(int) (LAST_DAY - FIRST_DAY + 2)];
+    private final TreeMap<Long, Integer> outsideWindow = new TreeMap<>();
+
+    void add(LocalDate birthDate) {
+        change(birthDate, 1);
+    }
+
+    void remove(LocalDate birthDate) {
+        change(birthDate, -1);
+    }
+
+    /**
+     * Number of users born between {@code from} and {@code to}, both inclusive.
+     */
+    long count(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        if (fromDay > toDay) {
+            return 0;
+        }
+        long count = prefix(toDay) - prefix(fromDay - 1);
+        if (!outsideWindow.isEmpty()) {
+            for (Map.Entry<Long, Integer> entry : outsideWindow.subMap(fromDay, true, toDay, true).entrySet()) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    void clear() {
+        Arrays.fill(tree, 0);
+        outsideWindow.clear();
+    }
+
+    private void change(LocalDate birthDate, int delta) {
+        if (birthDate == null) {
+            return;
+        }
+        long day = birthDate.toEpochDay();
+        if (day < FIRST_DAY || day > LAST_DAY) {
+            outsideWindow.merge(day, delta, (count, d) -> count + d == 0 ? null : count + d);
+            return;
+        }
+        for (int i = (int) (day - FIRST_DAY + 1); i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Number of users in the window born on or before {@code day}.
+     */
+    private long prefix(long day) {
+        if (day < FIRST_DAY) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = (int) (Math.min(day, LAST_DAY) - FIRST_DAY + 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.userhandler.resource;
+
+import com.example.userhandler.model.UserAge;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Emails of users indexed by the day of the year they were born on, a wheel
+ * of 366 slots, and by the day they reach {@code minAgeAllowed}. Finding the
+ * users to notify on a day only touches those users. Users born on February
+ * 29 are greeted on February 28 in common years, but only become eligible on
+ * March 1, when {@link UserAge} makes them a year older. Eligibility entries
+ * are only kept until they are polled.
+ *
+ * <p>Only users younger than {@code minAgeAllowed} get an eligibility entry.
+ * Registration and import reject those users, {@code minAgeAllowed} is fixed
+ * at startup and the store does not survive a restart, so as things stand no
+ * entry is ever created. The index is in place for when users below the
+ * minimum age can be stored. Not thread-safe, guarded by the owning
+ * {@link UserStore}'s lock.
+ */
+class BirthdayWheel {
+    private static final int LEAP_YEAR = 2000;
+    private static final int FEBRUARY_29 = slot(MonthDay.of(Month.FEBRUARY, 29));
+
+    private final int minAgeAllowed;
+    @SuppressWarnings("unchecked")
+    private final Set<String>[] birthdays = (Set<String>[]) new Set<?>[366];
+    private final TreeMap<Long, List<String>> eligibility = new TreeMap<>();
+
+    BirthdayWheel(int minAgeAllowed) {
+        this.minAgeAllowed = minAgeAllowed;
+    }
+
+    void add(String email, LocalDate birthDate) {
+        if (email == null || birthDate == null) {
+            return;
+        }
+        int slot = slot(MonthDay.from(birthDate));
+        if (birthdays[slot] == null) {
+            birthdays[slot] = new LinkedHashSet<>();
+        }
+        birthdays[slot].add(email);
+        LocalDate eligibleOn = UserAge.reachedOn(birthDate, minAgeAllowed);
+        if (eligibleOn.isAfter(LocalDate.now())) {
+            eligibility.computeIfAbsent(eligibleOn.toEpochDay(), day -> new ArrayList<>(1)).add(email);
+        }
+    }
+
+    void remove(String email, LocalDate birthDate) {
+        if (email == null || birthDate == null) {
+            return;
+        }
+        Set<String> slot = birthdays[slot(MonthDay.from(birthDate))];
+        if (slot != null) {
+            slot.remove(email);
+        }
+        long eligibleOn = UserAge.reachedOn(birthDate, minAgeAllowed).toEpochDay();
+        List<String> eligible = eligibility.get(eligibleOn);
+        if (eligible != null && eligible.remove(email) && eligible.isEmpty()) {
+            eligibility.remove(eligibleOn);
+        }
+    }
+
+    List<String> birthdays(LocalDate day) {
+        List<String> emails = new ArrayList<>();
+        int slot = slot(MonthDay.from(day));
+        if (birthdays[slot] != null) {
+            emails.addAll(birthdays[slot]);
+        }
+        if (!day.isLeapYear() && day.getMonth() == Month.FEBRUARY && day.getDayOfMonth() == 28
+                && birthdays[FEBRUARY_29] != null) {
+            emails.addAll(birthdays[FEBRUARY_29]);
+        }
+        return emails;
+    }
+
+    /**
+     * Removes and returns the users reaching {@code minAgeAllowed} on or
+     * before {@code day}.
+     */
+    List<String> pollEligible(LocalDate day) {
+        List<String> emails = new ArrayList<>();
+        Map<Long, List<String>> due = eligibility.headMap(day.toEpochDay(), true);
+        due.values().forEach(emails::addAll);
+        due.clear();
+        return emails;
+    }
+
+    void clear() {
+        for (int i = 0; i < birthdays.length; i++) {
+            birthdays[i] = null;
+        }
+        eligibility.clear();
+    }
+
+    private static int slot(MonthDay monthDay) {
+        return monthDay.atYear(LEAP_YEAR).getDayOfYear() - 1;
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.userhandler.resource;
+
+import com.example.userhandler.model.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflate-compressed users of one tenant that have not been used for a while.
+ * Only the email, birth date and file position of a cold user stay on the
+ * heap. The file is scratch space: every tier creates a file of its own, so
+ * several applications or contexts can share the directory. It is compacted
+ * once most of it is garbage and deleted on close. Callers are expected to
+ * hold the owning {@link UserStore}'s lock: the write lock for mutations,
+ * at least the read lock for reads.
+ */
+class ColdUserTier implements Closeable {
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private final Path file;
+    private final Map<String, List<ColdRef>> refs = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long position;
+    private long liveBytes;
+    private int size;
+
+    ColdUserTier(Path directory, String tenant) {
+        try {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, tenant + "-", ".cold");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create cold tier of tenant " + tenant + " in " + directory, e);
+        }
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Unable to open cold tier " + file, e);
+        }
+    }
+
+    /**
+     * Compresses users one by one so each of them can be read back on its
+     * own. Does not touch the tier, so it can run outside of the store lock.
+     */
+    static List<byte[]> encode(List<User> users) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            List<byte[]> encoded = new ArrayList<>(users.size());
+            for (User user : users) {
+                deflater.reset();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+                try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+                    writeString(out, user.getEmail());
+                    writeString(out, user.getFirstName());
+                    writeString(out, user.getLastName());
+                    out.writeBoolean(user.getBirthDate() != null);
+                    if (user.getBirthDate() != null) {
+                        out.writeLong(user.getBirthDate().toEpochDay());
+                    }
+                    writeString(out, user.getAddress());
+                    writeString(out, user.getPhoneNumber());
+                }
+                encoded.add(bytes.toByteArray());
+            }
+            return encoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode cold users", e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Appends all users or none of them: when a write fails, the users
+     * appended by this call are dropped again before the exception is thrown.
+     */
+    void append(List<User> users, List<byte[]> encoded) {
+        long startPosition = position;
+        List<ColdRef> appended = new ArrayList<>(users.size());
+        try {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                ByteBuffer buffer = ByteBuffer.wrap(encoded.get(i));
+                ColdRef ref = new ColdRef(user.getEmail(), user.getBirthDate(), position, buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                refs.computeIfAbsent(ref.email(), email -> new ArrayList<>(1)).add(ref);
+                appended.add(ref);
+                liveBytes += ref.length();
+                size++;
+            }
+        } catch (IOException e) {
+            for (ColdRef ref : appended) {
+                List<ColdRef> sameEmail = refs.get(ref.email());
+                sameEmail.remove(sameEmail.size() - 1);
+                if (sameEmail.isEmpty()) {
+                    refs.remove(ref.email());
+                }
+                liveBytes -= ref.length();
+                size--;
+            }
+            position = startPosition;
+            throw new UncheckedIOException("Unable to write cold tier " + file, e);
+        }
+    }
+
+    List<User> readAll() {
+        return read(ref -> true);
+    }
+
+    List<User> readByBirthDateRange(LocalDate from, LocalDate to) {
+        return read(ref -> ref.birthDate() != null
+                && !ref.birthDate().isBefore(from) && !ref.birthDate().isAfter(to));
+    }
+
+    List<User> readByEmail(String email) {
+        List<ColdRef> found = refs.get(email);
+        if (found == null) {
+            return List.of();
+        }
+        Inflater inflater = new Inflater();
+        try {
+            List<User> users = new ArrayList<>(found.size());
+            for (ColdRef ref : found) {
+                users.add(read(ref, inflater));
+            }
+            return users;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Removes the cold users with the given email and returns them. The users
+     * are only removed once all of them have been read back.
+     */
+    List<User> removeByEmail(String email) {
+        List<User> users = readByEmail(email);
+        discardByEmail(email);
+        return users;
+    }
+
+    /**
+     * Drops the cold users with the given email without reading them, once
+     * they have been faulted back into the heap.
+     */
+    void discardByEmail(String email) {
+        List<ColdRef> removed = refs.remove(email);
+        if (removed == null) {
+            return;
+        }
+        for (ColdRef ref : removed) {
+            liveBytes -= ref.length();
+            size--;
+        }
+    }
+
+    /**
+     * Rewrites the file without the removed users once most of it is
+     * garbage. The live users are copied to a new file that replaces the old
+     * one only when it is complete, so a failure leaves the tier unchanged.
+     */
+    void compactIfNeeded() {
+        long garbageBytes = position - liveBytes;
+        if (garbageBytes < MIN_COMPACTION_BYTES || garbageBytes < liveBytes) {
+            return;
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+        FileChannel target = null;
+        try {
+            target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            Map<String, List<ColdRef>> compactedRefs = new LinkedHashMap<>();
+            long targetPosition = 0;
+            for (List<ColdRef> sameEmail : refs.values()) {
+                for (ColdRef ref : sameEmail) {
+                    ByteBuffer buffer = ByteBuffer.wrap(readBytes(ref));
+                    compactedRefs.computeIfAbsent(ref.email(), email -> new ArrayList<>(1))
+                            .add(new ColdRef(ref.email(), ref.birthDate(), targetPosition, ref.length()));
+                    while (buffer.hasRemaining()) {
+                        targetPosition += target.write(buffer, targetPosition);
+                    }
+                }
+            }
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            FileChannel replaced = channel;
+            channel = target;
+            target = null;
+            refs.clear();
+            refs.putAll(compactedRefs);
+            position = targetPosition;
+            closeQuietly(replaced);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact cold tier " + file, e);
+        } finally {
+            if (target != null) {
+                closeQuietly(target);
+                deleteQuietly(compacted);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private List<User> read(Predicate<ColdRef> predicate) {
+        Inflater inflater = new Inflater();
+        try {
+            List<User> users = new ArrayList<>();
+            for (List<ColdRef> sameEmail : refs.values()) {
+                for (ColdRef ref : sameEmail) {
+                    if (predicate.test(ref)) {
+                        users.add(read(ref, inflater));
+                    }
+                }
+            }
+            return users;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private User read(ColdRef ref, Inflater inflater) {
+        inflater.reset();
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(readBytes(ref)), inflater))) {
+            return new User()
+                    .setEmail(readString(in))
+                    .setFirstName(readString(in))
+                    .setLastName(readString(in))
+                    .setBirthDate(in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null)
+                    .setAddress(readString(in))
+                    .setPhoneNumber(readString(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read cold tier " + file, e);
+        }
+    }
+
+    private byte[] readBytes(ColdRef ref) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ref.length());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, ref.offset() + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of cold tier " + file);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing is written through a channel that is being dropped
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the directory is scratch space, a leftover file is harmless
+        }
+    }
+
+    /**
+     * Length-prefixed UTF-8, -1 for null. Unlike {@code writeUTF} it is not
+     * limited to 65535 encoded bytes.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record ColdRef(String email, LocalDate birthDate, long offset, int length) {
+    }
+}
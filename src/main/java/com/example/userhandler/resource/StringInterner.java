@@ -0,0 +1,70 @@
+package com.example.userhandler.resource;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool of canonical instances for strings that repeat across many
+ * users, such as common names and street names. The pool is a direct-mapped
+ * table: a string that hashes to an occupied slot replaces the previous
+ * entry, so the pool never grows past its capacity and needs no locking.
+ * Every slot keeps the value seen most recently, two values sharing a slot
+ * keep replacing each other. Shared by all tenants, strings are immutable.
+ */
+@Component
+public class StringInterner {
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder duplicateBytesReplaced = new LongAdder();
+
+    public StringInterner(@Value("${intern.capacity:65536}") int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        table = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the pooled instance equal to {@code value}, or pools and
+     * returns {@code value} itself when there is none.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = table.get(index);
+        if (pooled == value) {
+            return pooled;
+        }
+        if (pooled != null && pooled.equals(value)) {
+            hits.increment();
+            duplicateBytesReplaced.add(STRING_OVERHEAD_BYTES + value.length());
+            return pooled;
+        }
+        table.set(index, value);
+        return value;
+    }
+
+    public int getCapacity() {
+        return table.length();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Estimated heap of all duplicate strings replaced by pooled instances
+     * since startup. A running total: it is not reduced when users are
+     * removed, so it is an upper bound of the heap currently saved.
+     */
+    public long getDuplicateBytesReplaced() {
+        return duplicateBytesReplaced.sum();
+    }
+}
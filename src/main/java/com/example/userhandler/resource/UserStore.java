@@ -0,0 +1,519 @@
+package com.example.userhandler.resource;
+
+import com.example.userhandler.exception.TenantQuotaExceededException;
+import com.example.userhandler.exception.UserNotFoundException;
+import com.example.userhandler.model.User;
+import com.example.userhandler.tenant.TenantMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * Users of a single tenant. Every tenant has its own lock, memory quota and
+ * metrics, so a large or busy tenant does not slow down scans of the others.
+ * Users that have been neither looked up nor modified for a while can be
+ * evicted to a compressed {@link ColdUserTier} and are faulted back in on
+ * their next lookup.
+ */
+public class UserStore {
+    private static final int USER_OVERHEAD_BYTES = 72;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    @Getter
+    private final String tenant;
+    @Getter
+    private final long maxMemoryBytes;
+    @Getter
+    private final TenantMetrics metrics = new TenantMetrics();
+    private final Path coldDirectory;
+    private final StringInterner stringInterner;
+    private final List<UserRecord> records = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BirthDateCounters birthDateCounters = new BirthDateCounters();
+    private final BirthdayWheel birthdayWheel;
+    private ColdUserTier coldTier;
+    private long estimatedBytes;
+    private volatile long version;
+
+    public UserStore(String tenant, long maxMemoryBytes) {
+        this(tenant, maxMemoryBytes, null, null, 0);
+    }
+
+    public UserStore(String tenant, long maxMemoryBytes, Path coldDirectory, StringInterner stringInterner,
+                     int minAgeAllowed) {
+        this.tenant = tenant;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.coldDirectory = coldDirectory;
+        this.stringInterner = stringInterner;
+        this.birthdayWheel = new BirthdayWheel(minAgeAllowed);
+    }
+
+    public void add(User user) {
+        addAll(List.of(user));
+    }
+
+    public void addAll(List<User> newUsers) {
+        newUsers.forEach(this::canonicalize);
+        long bytes = newUsers.stream().mapToLong(UserStore::estimateSize).sum();
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            checkQuota(bytes);
+            for (User user : newUsers) {
+                records.add(new UserRecord(user, now));
+                birthDateCounters.add(user.getBirthDate());
+                birthdayWheel.add(user.getEmail(), user.getBirthDate());
+            }
+            estimatedBytes += bytes;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns hot and cold users. Cold users are read from disk but stay
+     * cold, so bulk reads do not undo eviction.
+     */
+    public List<User> findAll() {
+        lock.readLock().lock();
+        try {
+            List<User> users = new ArrayList<>(records.size());
+            for (UserRecord record : records) {
+                users.add(record.user);
+            }
+            if (coldTier != null) {
+                users.addAll(coldTier.readAll());
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<User> findByBirthDateRange(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<User> users = new ArrayList<>();
+            for (UserRecord record : records) {
+                LocalDate birthDate = record.user.getBirthDate();
+                if (!birthDate.isBefore(from) && !birthDate.isAfter(to)) {
+                    users.add(record.user);
+                }
+            }
+            if (coldTier != null) {
+                users.addAll(coldTier.readByBirthDateRange(from, to));
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of hot and cold users born between {@code from} and {@code to},
+     * both inclusive, answered from the birth date counters without a scan.
+     */
+    public long countByBirthDateRange(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return birthDateCounters.count(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Emails of the hot and cold users whose birthday is on {@code day}.
+     */
+    public List<String> findBirthdayEmails(LocalDate day) {
+        lock.readLock().lock();
+        try {
+            return birthdayWheel.birthdays(day);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Emails of the users that reached {@code minAgeAllowed} on or before
+     * {@code day} and were not returned by a previous call.
+     */
+    public List<String> pollEligibleEmails(LocalDate day) {
+        lock.writeLock().lock();
+        try {
+            return birthdayWheel.pollEligible(day);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Looks a user up by email and marks it as accessed. A cold user is
+     * moved back to the heap before it is returned, which counts against the
+     * memory quota like adding it.
+     */
+    public Optional<User> findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Optional<User> user = findHotByEmail(email);
+            if (user.isPresent() || coldTier == null || coldTier.size() == 0) {
+                return user;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            Optional<User> user = findHotByEmail(email);
+            if (user.isPresent() || coldTier == null) {
+                return user;
+            }
+            List<User> faulted = coldTier.readByEmail(email);
+            if (faulted.isEmpty()) {
+                return Optional.empty();
+            }
+            faulted.forEach(this::canonicalize);
+            long bytes = faulted.stream().mapToLong(UserStore::estimateSize).sum();
+            checkQuota(bytes);
+            coldTier.discardByEmail(email);
+            long now = System.currentTimeMillis();
+            for (User cold : faulted) {
+                records.add(new UserRecord(cold, now));
+            }
+            estimatedBytes += bytes;
+            version++;
+            return Optional.of(faulted.get(0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the change to a stored user while holding the write lock, so
+     * concurrent updates and the birth date indexes stay consistent. The
+     * read methods return the stored instances themselves, so a reader that
+     * is still serializing them may observe a change half applied. A change
+     * that grows the user past the memory quota is rolled back.
+     *
+     * @throws UserNotFoundException if the user was removed meanwhile
+     * @throws TenantQuotaExceededException if the changed user does not fit
+     */
+    public User update(User user, Consumer<User> change) {
+        lock.writeLock().lock();
+        try {
+            UserRecord stored = null;
+            for (UserRecord record : records) {
+                if (record.user == user) {
+                    stored = record;
+                    break;
+                }
+            }
+            if (stored == null) {
+                throw new UserNotFoundException("There is no user with email: " + user.getEmail());
+            }
+            long sizeBefore = estimateSize(user);
+            User before = copy(user, new User());
+            String emailBefore = user.getEmail();
+            LocalDate birthDateBefore = user.getBirthDate();
+            change.accept(user);
+            long delta = estimateSize(user) - sizeBefore;
+            if (delta > 0) {
+                try {
+                    checkQuota(delta);
+                } catch (TenantQuotaExceededException e) {
+                    copy(before, user);
+                    throw e;
+                }
+            }
+            canonicalize(user);
+            estimatedBytes += delta;
+            birthDateCounters.remove(birthDateBefore);
+            birthDateCounters.add(user.getBirthDate());
+            if (!Objects.equals(user.getEmail(), emailBefore)
+                    || !Objects.equals(user.getBirthDate(), birthDateBefore)) {
+                birthdayWheel.remove(emailBefore, birthDateBefore);
+                birthdayWheel.add(user.getEmail(), user.getBirthDate());
+            }
+            stored.lastAccessed = System.currentTimeMillis();
+            stored.lastModified = stored.lastAccessed;
+            version++;
+            return user;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeByEmail(String email) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = records.removeIf(record -> {
+                if (record.user.getEmail().equals(email)) {
+                    estimatedBytes -= estimateSize(record.user);
+                    birthDateCounters.remove(record.user.getBirthDate());
+                    birthdayWheel.remove(email, record.user.getBirthDate());
+                    return true;
+                }
+                return false;
+            });
+            if (coldTier != null) {
+                for (User cold : coldTier.removeByEmail(email)) {
+                    birthDateCounters.remove(cold.getBirthDate());
+                    birthdayWheel.remove(email, cold.getBirthDate());
+                    removed = true;
+                }
+            }
+            if (removed) {
+                version++;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxUsers} users that were neither accessed nor
+     * modified since {@code idleSince} to the cold tier. Users are encoded
+     * outside of the lock; the ones modified meanwhile are left on the heap.
+     * Users are only removed from the heap once the cold tier holds them, so
+     * a failing write leaves them hot.
+     */
+    public int evictIdle(long idleSince, int maxUsers) {
+        if (coldDirectory == null || maxUsers <= 0) {
+            return 0;
+        }
+        List<UserRecord> candidates = new ArrayList<>();
+        List<Long> modifiedAt = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (UserRecord record : records) {
+                if (record.lastAccessed < idleSince && record.lastModified < idleSince) {
+                    candidates.add(record);
+                    modifiedAt.add(record.lastModified);
+                    if (candidates.size() == maxUsers) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<byte[]> encoded = ColdUserTier.encode(candidates.stream().map(record -> record.user).toList());
+
+        lock.writeLock().lock();
+        try {
+            Set<UserRecord> unchanged = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < candidates.size(); i++) {
+                UserRecord record = candidates.get(i);
+                if (record.lastModified == modifiedAt.get(i) && record.lastAccessed < idleSince) {
+                    unchanged.add(record);
+                }
+            }
+            Set<UserRecord> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (UserRecord record : records) {
+                if (unchanged.contains(record)) {
+                    evicted.add(record);
+                }
+            }
+            if (evicted.isEmpty()) {
+                return 0;
+            }
+            List<User> evictedUsers = new ArrayList<>(evicted.size());
+            List<byte[]> evictedBytes = new ArrayList<>(evicted.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                if (evicted.contains(candidates.get(i))) {
+                    evictedUsers.add(candidates.get(i).user);
+                    evictedBytes.add(encoded.get(i));
+                }
+            }
+            if (coldTier == null) {
+                coldTier = new ColdUserTier(coldDirectory, tenant);
+            }
+            coldTier.append(evictedUsers, evictedBytes);
+            records.removeIf(evicted::contains);
+            for (User user : evictedUsers) {
+                estimatedBytes -= estimateSize(user);
+            }
+            version++;
+            return evictedUsers.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the cold tier once most of its file belongs to users that
+     * were faulted back in or removed. Kept off the request path, it runs
+     * with the evictions.
+     */
+    public void compactColdTier() {
+        lock.writeLock().lock();
+        try {
+            if (coldTier != null) {
+                coldTier.compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            records.clear();
+            birthDateCounters.clear();
+            birthdayWheel.clear();
+            estimatedBytes = 0;
+            version++;
+            closeColdTier();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the cold tier file. Cold users are lost, so this is only meant
+     * for shutdown.
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closeColdTier();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return records.size() + (coldTier == null ? 0 : coldTier.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getColdSize() {
+        lock.readLock().lock();
+        try {
+            return coldTier == null ? 0 : coldTier.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Incremented under the write lock by every change of the stored users,
+     * including evictions, which change the order {@link #findAll()} returns
+     * them in. Readable without the lock.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getEstimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint of a user: the object with its date plus one
+     * compact (Latin-1) String per non-null field.
+     */
+    public static long estimateSize(User user) {
+        return USER_OVERHEAD_BYTES
+                + estimateSize(user.getEmail())
+                + estimateSize(user.getFirstName())
+                + estimateSize(user.getLastName())
+                + estimateSize(user.getAddress())
+                + estimateSize(user.getPhoneNumber());
+    }
+
+    private static long estimateSize(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    /**
+     * Replaces the low-cardinality fields with pooled instances, so users
+     * sharing a name or an address share one String.
+     */
+    private void canonicalize(User user) {
+        if (stringInterner != null) {
+            user.setFirstName(stringInterner.intern(user.getFirstName()));
+            user.setLastName(stringInterner.intern(user.getLastName()));
+            user.setAddress(stringInterner.intern(user.getAddress()));
+        }
+    }
+
+    private void closeColdTier() {
+        if (coldTier == null) {
+            return;
+        }
+        try {
+            coldTier.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close cold tier of tenant " + tenant, e);
+        } finally {
+            coldTier = null;
+        }
+    }
+
+    private void checkQuota(long additionalBytes) {
+        if (maxMemoryBytes > 0 && estimatedBytes + additionalBytes > maxMemoryBytes) {
+            throw new TenantQuotaExceededException("Tenant " + tenant + " exceeded its memory quota of "
+                    + maxMemoryBytes + " bytes");
+        }
+    }
+
+    private static User copy(User source, User target) {
+        return target
+                .setEmail(source.getEmail())
+                .setFirstName(source.getFirstName())
+                .setLastName(source.getLastName())
+                .setBirthDate(source.getBirthDate())
+                .setAddress(source.getAddress())
+                .setPhoneNumber(source.getPhoneNumber());
+    }
+
+    private Optional<User> findHotByEmail(String email) {
+        for (UserRecord record : records) {
+            if (record.user.getEmail().equals(email)) {
+                record.lastAccessed = System.currentTimeMillis();
+                return Optional.of(record.user);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static class UserRecord {
+        private final User user;
+        private volatile long lastAccessed;
+        private volatile long lastModified;
+
+        private UserRecord(User user, long now) {
+            this.user = user;
+            this.lastAccessed = now;
+            this.lastModified = now;
+        }
+    }
+}
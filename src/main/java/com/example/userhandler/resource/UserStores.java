@@ -0,0 +1,73 @@
+package com.example.userhandler.resource;
+
+import com.example.userhandler.exception.TenantQuotaExceededException;
+import com.example.userhandler.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserStores {
+    private final Map<String, UserStore> stores = new ConcurrentHashMap<>();
+    @Getter
+    private final StringInterner stringInterner;
+
+    @Value("${tenant.maxMemoryBytes:0}")
+    private long maxMemoryBytes;
+    @Value("${tenant.maxTenants:0}")
+    private int maxTenants;
+    @Value("${minAgeAllowed:0}")
+    private int minAgeAllowed;
+    @Value("${tiering.enabled:false}")
+    private boolean tieringEnabled;
+    @Value("${tiering.directory:}")
+    private String tieringDirectory;
+
+    /**
+     * Store of the current tenant, created on first use. Only for writes,
+     * reads use {@link #findCurrent()} so they cannot use up the tenant quota.
+     */
+    public UserStore current() {
+        return get(TenantContext.getTenant());
+    }
+
+    public Optional<UserStore> findCurrent() {
+        return find(TenantContext.getTenant());
+    }
+
+    public UserStore get(String tenant) {
+        UserStore store = stores.get(tenant);
+        if (store != null) {
+            return store;
+        }
+        synchronized (stores) {
+            if (maxTenants > 0 && !stores.containsKey(tenant) && stores.size() >= maxTenants) {
+                throw new TenantQuotaExceededException("Number of tenants is limited to " + maxTenants);
+            }
+            Path coldDirectory = tieringEnabled && !tieringDirectory.isBlank() ? Path.of(tieringDirectory) : null;
+            return stores.computeIfAbsent(tenant, t -> new UserStore(t, maxMemoryBytes, coldDirectory,
+                    stringInterner, minAgeAllowed));
+        }
+    }
+
+    public Optional<UserStore> find(String tenant) {
+        return Optional.ofNullable(stores.get(tenant));
+    }
+
+    public Collection<UserStore> getAll() {
+        return stores.values();
+    }
+
+    @PreDestroy
+    public void close() {
+        stores.values().forEach(UserStore::close);
+    }
+}
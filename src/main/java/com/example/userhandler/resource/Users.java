@@ -1,10 +0,0 @@
-package com.example.userhandler.resource;
-
-import com.example.userhandler.model.User;
-import java.util.ArrayList;
-import java.util.List;
-import lombok.Getter;
-
-public class Users {
-    public static final List<User> storage = new ArrayList<>();
-}
@@ -0,0 +1,51 @@
+package com.example.userhandler.scheduler;
+
+import com.example.userhandler.event.UserBirthdayEvent;
+import com.example.userhandler.event.UserEligibleEvent;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link UserBirthdayEvent} for every user whose birthday is
+ * today and a {@link UserEligibleEvent} for every user reaching
+ * {@code minAgeAllowed}, once per tenant and day. Users are taken from the
+ * stores' birthday wheels, so a sweep only touches the users it notifies
+ * about. Days missed while the application was down are not replayed, except
+ * for eligibility, which is published late rather than never. Eligibility
+ * events cannot fire yet, users below {@code minAgeAllowed} are never stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class BirthdaySweepTask {
+    private final UserStores userStores;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, LocalDate> lastSweeps = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${birthday.sweep.cron:0 5 0 * * *}")
+    public void sweepToday() {
+        sweep(LocalDate.now());
+    }
+
+    public void sweep(LocalDate day) {
+        for (UserStore store : userStores.getAll()) {
+            LocalDate lastSweep = lastSweeps.get(store.getTenant());
+            if (lastSweep != null && !day.isAfter(lastSweep)) {
+                continue;
+            }
+            for (String email : store.findBirthdayEmails(day)) {
+                eventPublisher.publishEvent(new UserBirthdayEvent(store.getTenant(), email, day));
+            }
+            for (String email : store.pollEligibleEmails(day)) {
+                eventPublisher.publishEvent(new UserEligibleEvent(store.getTenant(), email, day));
+            }
+            lastSweeps.put(store.getTenant(), day);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.userhandler.scheduler;
+
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically moves idle users of every tenant to the cold tier. Runs on the
+ * single scheduler thread and evicts in small batches, with an upper limit
+ * per tenant and run, so request threads are never blocked for long. Cold
+ * tiers are compacted here as well. A tenant that fails to evict or compact
+ * is logged and skipped until the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEvictionTask {
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserStores userStores;
+
+    @Value("${tiering.enabled:false}")
+    private boolean enabled;
+    @Value("${tiering.idleAfter:P1D}")
+    private Duration idleAfter;
+    @Value("${tiering.maxEvictionsPerRun:10000}")
+    private int maxEvictionsPerRun;
+
+    @Scheduled(fixedDelayString = "${tiering.interval:PT1M}", initialDelayString = "${tiering.interval:PT1M}")
+    public void evictIdleUsers() {
+        if (!enabled) {
+            return;
+        }
+        long idleSince = System.currentTimeMillis() - idleAfter.toMillis();
+        for (UserStore store : userStores.getAll()) {
+            int evicted = 0;
+            try {
+                while (evicted < maxEvictionsPerRun) {
+                    int batch = store.evictIdle(idleSince, Math.min(BATCH_SIZE, maxEvictionsPerRun - evicted));
+                    if (batch == 0) {
+                        break;
+                    }
+                    evicted += batch;
+                }
+                store.compactColdTier();
+            } catch (RuntimeException e) {
+                log.error("Unable to evict idle users of tenant {}", store.getTenant(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userhandler.service;
+
+import com.example.userhandler.model.InternStats;
+import com.example.userhandler.model.TenantStats;
+import java.util.List;
+
+public interface TenantService {
+    List<TenantStats> getStats();
+
+    InternStats getInternStats();
+}
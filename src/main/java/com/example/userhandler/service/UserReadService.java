@@ -0,0 +1,9 @@
+package com.example.userhandler.service;
+
+import java.time.LocalDate;
+
+public interface UserReadService {
+    byte[] findAllAsJson();
+
+    byte[] getUsersByBirthDateRangeAsJson(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,17 @@
+package com.example.userhandler.service;
+
+import com.example.userhandler.model.AgeBracket;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface UserStatsService {
+    long countByBirthDateRange(LocalDate from, LocalDate to);
+
+    Map<Integer, Long> countByBirthYear(int fromYear, int toYear);
+
+    Map<YearMonth, Long> countByBirthMonth(YearMonth from, YearMonth to);
+
+    List<AgeBracket> countByAgeBracket(int bracketSize);
+}
@@ -0,0 +1,11 @@
+package com.example.userhandler.service;
+
+import com.example.userhandler.model.TransferReport;
+
+public interface UserTransferService {
+    TransferReport exportUsers(String fileName);
+
+    TransferReport importUsers(String fileName);
+
+    TransferReport getLastTransfer();
+}
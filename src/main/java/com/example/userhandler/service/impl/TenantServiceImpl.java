@@ -0,0 +1,50 @@
+package com.example.userhandler.service.impl;
+
+import com.example.userhandler.model.InternStats;
+import com.example.userhandler.model.TenantStats;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.service.TenantService;
+import com.example.userhandler.tenant.TenantMetrics;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TenantServiceImpl implements TenantService {
+    private final UserStores userStores;
+
+    @Override
+    public List<TenantStats> getStats() {
+        return userStores.getAll().stream()
+                .sorted(Comparator.comparing(UserStore::getTenant))
+                .map(this::getStats)
+                .toList();
+    }
+
+    @Override
+    public InternStats getInternStats() {
+        StringInterner stringInterner = userStores.getStringInterner();
+        return new InternStats()
+                .setCapacity(stringInterner.getCapacity())
+                .setHits(stringInterner.getHits())
+                .setDuplicateBytesReplaced(stringInterner.getDuplicateBytesReplaced());
+    }
+
+    private TenantStats getStats(UserStore store) {
+        TenantMetrics metrics = store.getMetrics();
+        return new TenantStats()
+                .setTenant(store.getTenant())
+                .setUsers(store.size())
+                .setColdUsers(store.getColdSize())
+                .setEstimatedBytes(store.getEstimatedBytes())
+                .setMaxMemoryBytes(store.getMaxMemoryBytes())
+                .setRequests(metrics.getRequests())
+                .setErrors(metrics.getErrors())
+                .setAverageLatencyMicros(metrics.getAverageLatencyMicros())
+                .setMaxLatencyMicros(metrics.getMaxLatencyMicros());
+    }
+}
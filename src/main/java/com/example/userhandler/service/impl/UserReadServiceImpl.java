@@ -0,0 +1,58 @@
+package com.example.userhandler.service.impl;
+
+import com.example.userhandler.concurrent.SingleFlight;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.service.UserReadService;
+import com.example.userhandler.service.UserService;
+import com.example.userhandler.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the read endpoints as already encoded JSON. Identical requests
+ * arriving while one of them is being computed share its query and
+ * serialization. The key contains the store version read before the query,
+ * so a request arriving after a change never receives bytes computed before
+ * it.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserReadServiceImpl implements UserReadService {
+    private final UserService userService;
+    private final UserStores userStores;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<ReadKey, byte[]> singleFlight = new SingleFlight<>();
+
+    @Override
+    public byte[] findAllAsJson() {
+        return read("findAll", null, null, userService::findAll);
+    }
+
+    @Override
+    public byte[] getUsersByBirthDateRangeAsJson(LocalDate from, LocalDate to) {
+        return read("search", from, to, () -> userService.getUsersByBirthDateRange(from, to));
+    }
+
+    private byte[] read(String query, LocalDate from, LocalDate to, Supplier<List<?>> users) {
+        String tenant = TenantContext.getTenant();
+        long version = userStores.find(tenant).map(UserStore::getVersion).orElse(-1L);
+        ReadKey key = new ReadKey(tenant, version, query, from, to);
+        return singleFlight.execute(key, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(users.get());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Unable to serialize users", e);
+            }
+        });
+    }
+
+    private record ReadKey(String tenant, long version, String query, LocalDate from, LocalDate to) {
+    }
+}
@@ -3,23 +3,25 @@ package com.example.userhandler.service.impl;
 import com.example.userhandler.exception.UserBadRequestException;
 import com.example.userhandler.exception.UserNotFoundException;
 import com.example.userhandler.model.User;
-import com.example.userhandler.resource.Users;
+import com.example.userhandler.model.UserAge;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
 import com.example.userhandler.service.UserService;
 import java.time.LocalDate;
-import java.time.Period;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.PropertySources;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 @PropertySources({
         @PropertySource(value = "classpath:application.properties")
 })
 public class UserServiceImpl implements UserService {
+    private final UserStores userStores;
     @Value("${minAgeAllowed}")
     private int minAgeAllowed;
 
@@ -30,13 +32,15 @@ public class UserServiceImpl implements UserService {
                     + " is not allowed. You must be at least "
                     + minAgeAllowed + ".");
         }
-        Users.storage.add(newUser);
+        userStores.current().add(newUser);
         return newUser;
     }
 
     @Override
     public List<User> findAll() {
-        return Users.storage;
+        return userStores.findCurrent()
+                .map(UserStore::findAll)
+                .orElseGet(List::of);
     }
 
     @Override
@@ -54,31 +58,33 @@ public class UserServiceImpl implements UserService {
         }
 
 
-        if (user.getEmail() != null) {
-            existingUser.setEmail(user.getEmail());
-        }
-        if (user.getFirstName() != null) {
-            existingUser.setFirstName(user.getFirstName());
-        }
-        if (user.getLastName() != null) {
-            existingUser.setLastName(user.getLastName());
-        }
-        if (user.getBirthDate() != null) {
-            existingUser.setBirthDate(user.getBirthDate());
-        }
-        if (user.getAddress() != null) {
-            existingUser.setAddress(user.getAddress());
-        }
-        if (user.getPhoneNumber() != null) {
-            existingUser.setPhoneNumber(user.getPhoneNumber());
-        }
-
-        return existingUser;
+        return userStores.current().update(existingUser, u -> {
+            if (user.getEmail() != null) {
+                u.setEmail(user.getEmail());
+            }
+            if (user.getFirstName() != null) {
+                u.setFirstName(user.getFirstName());
+            }
+            if (user.getLastName() != null) {
+                u.setLastName(user.getLastName());
+            }
+            if (user.getBirthDate() != null) {
+                u.setBirthDate(user.getBirthDate());
+            }
+            if (user.getAddress() != null) {
+                u.setAddress(user.getAddress());
+            }
+            if (user.getPhoneNumber() != null) {
+                u.setPhoneNumber(user.getPhoneNumber());
+            }
+        });
     }
 
     @Override
     public void deleteUser(String email) {
-        boolean userDeleted = Users.storage.removeIf(u -> u.getEmail().equals(email));
+        boolean userDeleted = userStores.findCurrent()
+                .map(store -> store.removeByEmail(email))
+                .orElse(false);
         if (!userDeleted) {
             throw new UserNotFoundException("There is no user with email: " + email);
         }
@@ -90,24 +96,23 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("[from] date must be before [to] date");
         }
 
-        return Users.storage.stream()
-                .filter(user -> !user.getBirthDate().isBefore(from) && !user.getBirthDate().isAfter(to))
-                .collect(Collectors.toList());
+        return userStores.findCurrent()
+                .map(store -> store.findByBirthDateRange(from, to))
+                .orElseGet(List::of);
     }
 
 
     private boolean checkIfAgeAllowed(LocalDate birthDate) {
-        return calculateAge(birthDate) >= minAgeAllowed && !birthDate.isAfter(LocalDate.now());
+        return UserAge.isAllowed(birthDate, minAgeAllowed, LocalDate.now());
     }
 
     private int calculateAge(LocalDate birthDate) {
-        return Period.between(birthDate, LocalDate.now()).getYears();
+        return UserAge.of(birthDate, LocalDate.now());
     }
 
     private User getExistingUser(String email) {
-        return Users.storage.stream()
-                .filter(u -> u.getEmail().equals(email))
-                .findFirst()
+        return userStores.findCurrent()
+                .flatMap(store -> store.findByEmail(email))
                 .orElseThrow(() -> new UserNotFoundException("There is no user with email: " + email));
     }
 }
@@ -0,0 +1,123 @@
+package com.example.userhandler.service.impl;
+
+import com.example.userhandler.model.AgeBracket;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.service.UserStatsService;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Birth date aggregates answered from the per-tenant birth date counters, so
+ * every bucket costs a couple of tree lookups instead of a full scan.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatsServiceImpl implements UserStatsService {
+    private static final int MAX_BUCKETS = 1200;
+    private static final int MAX_AGE = 120;
+
+    private final UserStores userStores;
+
+    @Value("${minAgeAllowed}")
+    private int minAgeAllowed;
+
+    @Override
+    public long countByBirthDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("[from] date must be before [to] date");
+        }
+        return count(userStores.findCurrent().orElse(null), from, to);
+    }
+
+    @Override
+    public Map<Integer, Long> countByBirthYear(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("[from] year must be before [to] year");
+        }
+        if (fromYear < Year.MIN_VALUE || toYear > Year.MAX_VALUE) {
+            throw new IllegalArgumentException("Years must be between " + Year.MIN_VALUE + " and " + Year.MAX_VALUE);
+        }
+        checkBuckets((long) toYear - fromYear + 1);
+        UserStore store = userStores.findCurrent().orElse(null);
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            counts.put(year, count(store, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByBirthMonth(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("[from] month must be before [to] month");
+        }
+        long buckets = from.until(to, ChronoUnit.MONTHS) + 1;
+        checkBuckets(buckets);
+        UserStore store = userStores.findCurrent().orElse(null);
+        Map<YearMonth, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < buckets; i++) {
+            YearMonth month = from.plusMonths(i);
+            counts.put(month, count(store, month.atDay(1), month.atEndOfMonth()));
+        }
+        return counts;
+    }
+
+    /**
+     * Counts users younger than {@code minAgeAllowed}, then in brackets of
+     * {@code bracketSize} years starting at {@code minAgeAllowed}, with the
+     * last bracket open-ended.
+     */
+    @Override
+    public List<AgeBracket> countByAgeBracket(int bracketSize) {
+        if (bracketSize <= 0 || bracketSize > MAX_AGE) {
+            throw new IllegalArgumentException("Bracket size must be between 1 and " + MAX_AGE);
+        }
+        UserStore store = userStores.findCurrent().orElse(null);
+        LocalDate today = LocalDate.now();
+        List<AgeBracket> brackets = new ArrayList<>();
+        brackets.add(countAges(store, today, 0, minAgeAllowed));
+        for (int fromAge = minAgeAllowed; fromAge < MAX_AGE; fromAge += bracketSize) {
+            Integer toAge = fromAge + bracketSize < MAX_AGE ? fromAge + bracketSize : null;
+            brackets.add(countAges(store, today, fromAge, toAge));
+        }
+        return brackets;
+    }
+
+    /**
+     * Users aged at least {@code fromAge} and less than {@code toAge} years,
+     * i.e. born after today minus {@code toAge} years and on or before today
+     * minus {@code fromAge} years.
+     */
+    private AgeBracket countAges(UserStore store, LocalDate today, int fromAge, Integer toAge) {
+        LocalDate latest = today.minusYears(fromAge);
+        LocalDate earliest = toAge == null ? LocalDate.MIN : today.minusYears(toAge).plusDays(1);
+        return new AgeBracket()
+                .setFromAge(fromAge)
+                .setToAge(toAge == null ? null : toAge - 1)
+                .setCount(count(store, earliest, latest));
+    }
+
+    /**
+     * A tenant without a store has no users, its store is only created by
+     * writes.
+     */
+    private long count(UserStore store, LocalDate from, LocalDate to) {
+        return store == null ? 0 : store.countByBirthDateRange(from, to);
+    }
+
+    private void checkBuckets(long buckets) {
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("At most " + MAX_BUCKETS + " buckets can be requested at once");
+        }
+    }
+}
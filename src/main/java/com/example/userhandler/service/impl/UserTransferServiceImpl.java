@@ -0,0 +1,233 @@
+package com.example.userhandler.service.impl;
+
+import com.example.userhandler.exception.TenantQuotaExceededException;
+import com.example.userhandler.exception.TransferInProgressException;
+import com.example.userhandler.exception.UserBadRequestException;
+import com.example.userhandler.model.TransferReport;
+import com.example.userhandler.model.User;
+import com.example.userhandler.model.UserAge;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.service.UserTransferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves whole user datasets to and from newline-delimited JSON files.
+ * Imports map the file into memory segment by segment, parse and validate
+ * the lines of a segment in parallel and append the accepted users to the
+ * storage in one step.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserTransferServiceImpl implements UserTransferService {
+    private static final long MAX_SEGMENT_SIZE = 256L * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserStores userStores;
+    private final ReentrantLock transferLock = new ReentrantLock();
+    private volatile TransferReport lastTransfer;
+
+    @Value("${minAgeAllowed}")
+    private int minAgeAllowed;
+    @Value("${transfer.directory}")
+    private Path transferDirectory;
+
+    @Override
+    public TransferReport exportUsers(String fileName) {
+        Path target = resolve(fileName);
+        TransferReport report = start("export", fileName);
+        try {
+            Files.createDirectories(transferDirectory);
+            List<User> users = userStores.findCurrent()
+                    .map(UserStore::findAll)
+                    .orElseGet(List::of);
+            Path temp = Files.createTempFile(transferDirectory, fileName, ".tmp");
+            try {
+                writeUsers(temp, users, report);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            report.getTotalBytes().set(report.getProcessedBytes().get());
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to export users to " + fileName, e);
+        } finally {
+            finish(report);
+        }
+    }
+
+    private void writeUsers(Path file, List<User> users, TransferReport report) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            for (User user : users) {
+                byte[] line = objectMapper.writeValueAsBytes(user);
+                if (buffer.remaining() < line.length + 1) {
+                    flush(channel, buffer);
+                }
+                if (buffer.remaining() < line.length + 1) {
+                    writeFully(channel, ByteBuffer.wrap(line));
+                    writeFully(channel, ByteBuffer.wrap(new byte[]{NEW_LINE}));
+                } else {
+                    buffer.put(line).put(NEW_LINE);
+                }
+                report.getProcessedRecords().incrementAndGet();
+                report.getProcessedBytes().addAndGet(line.length + 1);
+            }
+            flush(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public TransferReport importUsers(String fileName) {
+        Path source = resolve(fileName);
+        if (!Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("There is no transfer file: " + fileName);
+        }
+        UserStore store = userStores.current();
+        TransferReport report = start("import", fileName);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            report.getTotalBytes().set(size);
+            long position = 0;
+            while (position < size) {
+                report.getCommittedBytes().set(position);
+                long length = Math.min(MAX_SEGMENT_SIZE, size - position);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = position + length == size ? (int) length : lastLineEnd(segment);
+                if (end == 0) {
+                    throw new UserBadRequestException("Line at offset " + position
+                            + " is longer than " + MAX_SEGMENT_SIZE + " bytes");
+                }
+                List<User> users = parseSegment(segment, end, report);
+                store.addAll(users);
+                report.getImportedRecords().addAndGet(users.size());
+                position += end;
+                report.getProcessedBytes().set(position);
+            }
+            report.getCommittedBytes().set(position);
+            return report;
+        } catch (TenantQuotaExceededException e) {
+            report.fail(e.getMessage());
+            throw new TenantQuotaExceededException(e.getMessage() + ", import of " + fileName
+                    + " stopped after " + report.getCommittedBytes().get() + " bytes", e);
+        } catch (IOException e) {
+            report.fail(e.getMessage());
+            throw new UncheckedIOException("Unable to import users from " + fileName, e);
+        } catch (RuntimeException e) {
+            report.fail(e.getMessage());
+            throw e;
+        } finally {
+            finish(report);
+        }
+    }
+
+    @Override
+    public TransferReport getLastTransfer() {
+        return lastTransfer;
+    }
+
+    private List<User> parseSegment(ByteBuffer segment, int end, TransferReport report) {
+        List<int[]> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || segment.get(i) == NEW_LINE) {
+                if (i > lineStart) {
+                    lines.add(new int[]{lineStart, i - lineStart});
+                }
+                lineStart = i + 1;
+            }
+        }
+        return IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parseLine(segment.slice(lines.get(i)[0], lines.get(i)[1]), report))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private User parseLine(ByteBuffer line, TransferReport report) {
+        report.getProcessedRecords().incrementAndGet();
+        try {
+            User user = objectMapper.readValue(new ByteBufferBackedInputStream(line), User.class);
+            if (user != null && validator.validate(user).isEmpty() && checkIfAgeAllowed(user.getBirthDate())) {
+                return user;
+            }
+        } catch (IOException e) {
+            // malformed lines are counted as rejected, the rest of the file is still imported
+        }
+        report.getRejectedRecords().incrementAndGet();
+        return null;
+    }
+
+    private int lastLineEnd(ByteBuffer segment) {
+        for (int i = segment.limit() - 1; i >= 0; i--) {
+            if (segment.get(i) == NEW_LINE) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private TransferReport start(String operation, String fileName) {
+        if (!transferLock.tryLock()) {
+            throw new TransferInProgressException("Another transfer is already running");
+        }
+        TransferReport report = new TransferReport(operation, fileName);
+        lastTransfer = report;
+        return report;
+    }
+
+    private void finish(TransferReport report) {
+        report.finish();
+        transferLock.unlock();
+    }
+
+    private Path resolve(String fileName) {
+        Path directory = transferDirectory.toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!directory.equals(file.getParent())) {
+            throw new IllegalArgumentException("Invalid transfer file name: " + fileName);
+        }
+        return file;
+    }
+
+    private boolean checkIfAgeAllowed(LocalDate birthDate) {
+        return UserAge.isAllowed(birthDate, minAgeAllowed, LocalDate.now());
+    }
+}
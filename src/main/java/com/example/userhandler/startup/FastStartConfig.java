@@ -0,0 +1,25 @@
+package com.example.userhandler.startup;
+
+import com.example.userhandler.controller.UserController;
+import com.example.userhandler.scheduler.BirthdaySweepTask;
+import com.example.userhandler.scheduler.UserEvictionTask;
+import com.example.userhandler.service.UserService;
+import jakarta.validation.Validator;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager when the fast-start profile turns on lazy
+ * initialization: everything needed to serve the first {@code /api/users}
+ * request, and scheduled tasks, which are never triggered when lazy.
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UserController.class, UserService.class,
+                Validator.class, UserEvictionTask.class, BirthdaySweepTask.class, StartupTimeReporter.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userhandler.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Logs how long after JVM start the application became ready and served its
+ * first request, which is what scripts/startup-benchmark.sh compares.
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+    private final AtomicBoolean firstRequest = new AtomicBoolean(true);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Application ready {} ms after JVM start", uptime());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (firstRequest.get() && firstRequest.compareAndSet(true, false)) {
+            log.info("First request served {} ms after JVM start", uptime());
+        }
+    }
+
+    private long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userhandler.tenant;
+
+/**
+ * Tenant of the request handled by the current thread. Threads outside of a
+ * request, such as tests and background tasks, use the default tenant.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenant() {
+        String tenant = CURRENT_TENANT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    public static void setTenant(String tenant) {
+        CURRENT_TENANT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.userhandler.tenant;
+
+import com.example.userhandler.resource.UserStores;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the tenant of a request from the {@code tenantId} path variable or
+ * the {@value #TENANT_HEADER} header and records the request latency in the
+ * tenant's metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantInterceptor implements HandlerInterceptor {
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    public static final String TENANT_PATH_VARIABLE = "tenantId";
+
+    private static final String START_ATTRIBUTE = TenantInterceptor.class.getName() + ".start";
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final UserStores userStores;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = resolveTenant(request);
+        if (!TENANT_PATTERN.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Invalid tenant: " + tenant);
+        }
+        TenantContext.setTenant(tenant);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        try {
+            long nanos = System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE);
+            boolean error = ex != null || response.getStatus() >= 400;
+            userStores.find(TenantContext.getTenant())
+                    .ifPresent(store -> store.getMetrics().record(nanos, error));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String resolveTenant(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.containsKey(TENANT_PATH_VARIABLE)) {
+            return pathVariables.get(TENANT_PATH_VARIABLE);
+        }
+        String header = request.getHeader(TENANT_HEADER);
+        return header == null ? TenantContext.DEFAULT_TENANT : header;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.userhandler.tenant;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TenantMetrics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos, boolean error) {
+        requests.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getAverageLatencyMicros() {
+        long count = requests.sum();
+        return count == 0 ? 0 : totalNanos.sum() / count / 1_000;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxNanos.get() / 1_000;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.userhandler.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Verify concurrent callers with the same key share one computation")
+    public void execute_ConcurrentSameKey_ComputesOnce() throws Exception {
+        //Given
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //When
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            awaitUninterruptibly(release);
+            return result;
+        }));
+        started.await();
+        AtomicReference<Thread> followerThread = new AtomicReference<>();
+        Future<Object> follower = executor.submit(() -> {
+            followerThread.set(Thread.currentThread());
+            return singleFlight.execute("key", () -> {
+                computations.incrementAndGet();
+                return new Object();
+            });
+        });
+        Object otherKey = executor.submit(() -> singleFlight.execute("other", Object::new)).get();
+        awaitWaiting(followerThread);
+        release.countDown();
+
+        //Then
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(Object.class, otherKey.getClass());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verify a key is released after completion and exceptions are rethrown")
+    public void execute_SequentialCalls_ComputesEachTime() {
+        //Given
+        AtomicInteger computations = new AtomicInteger();
+
+        //When
+        singleFlight.execute("key", computations::incrementAndGet);
+        singleFlight.execute("key", computations::incrementAndGet);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> singleFlight.execute("key", () -> {
+                    throw new IllegalArgumentException("failed");
+                }));
+
+        //Then
+        assertEquals(2, computations.get());
+        assertEquals("failed", exception.getMessage());
+    }
+
+    /**
+     * Waits until the thread is parked joining the in-flight call, the only
+     * place it can block once it has been published.
+     */
+    private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.get() == null || thread.get().getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Follower did not join the in-flight call");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
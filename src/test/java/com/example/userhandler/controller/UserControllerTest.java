@@ -3,6 +3,7 @@ package com.example.userhandler.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -10,7 +11,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.userhandler.model.User;
-import com.example.userhandler.resource.Users;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.tenant.TenantInterceptor;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
@@ -34,6 +36,8 @@ class UserControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private UserStores userStores;
 
     @BeforeAll
     static void beforeAll(
@@ -46,12 +50,12 @@ class UserControllerTest {
 
     @BeforeEach
     public void setUp() {
-        Users.storage.clear();
+        userStores.current().clear();
     }
 
     @AfterEach
     public void afterEach() {
-        Users.storage.clear();
+        userStores.current().clear();
     }
 
     @Test
@@ -96,7 +100,7 @@ class UserControllerTest {
     void updateUser_ValidUserRequest_ReturnsUpdatedUser() throws Exception {
         //Given
         User user = getUser();
-        Users.storage.add(user);
+        userStores.current().add(user);
 
         //When
         MvcResult result = mockMvc.perform(put("/api/users/" + user.getEmail())
@@ -130,7 +134,7 @@ class UserControllerTest {
     void updateUser_InvalidRequest_BadRequest() throws Exception {
         //Given
         User user = getUser();
-        Users.storage.add(user);
+        userStores.current().add(user);
         User updateUser = user.setBirthDate(LocalDate.of(2010, 1, 1));
 
         //When
@@ -161,8 +165,8 @@ class UserControllerTest {
         // Given
         User user1 = getUser().setBirthDate(LocalDate.of(2000, 1, 1));
         User user2 = getUser().setBirthDate(LocalDate.of(1995, 6, 15));
-        Users.storage.add(user1);
-        Users.storage.add(user2);
+        userStores.current().add(user1);
+        userStores.current().add(user2);
 
         // When
         LocalDate fromDate = LocalDate.of(1999, 1, 1);
@@ -185,8 +189,8 @@ class UserControllerTest {
         // Given
         User user1 = getUser().setBirthDate(LocalDate.of(2000, 1, 1));
         User user2 = getUser().setBirthDate(LocalDate.of(1995, 6, 15));
-        Users.storage.add(user1);
-        Users.storage.add(user2);
+        userStores.current().add(user1);
+        userStores.current().add(user2);
 
         //When
         MvcResult result = mockMvc.perform(get("/api/users"))
@@ -196,8 +200,8 @@ class UserControllerTest {
         //Then
         List<User> users = objectMapper.readValue(result.getResponse().getContentAsString(),
                 new TypeReference<List<User>>() {});
-        assertEquals(Users.storage.size(), users.size());
-        assertIterableEquals(Users.storage, users);
+        assertEquals(userStores.current().size(), users.size());
+        assertIterableEquals(userStores.current().findAll(), users);
     }
 
     @Test
@@ -205,7 +209,7 @@ class UserControllerTest {
     void deleteUser_UserExists_isAccepted() throws Exception {
         //Given
         User user = getUser();
-        Users.storage.add(user);
+        userStores.current().add(user);
 
         //When
         MvcResult result = mockMvc.perform(delete("/api/users/" + user.getEmail())
@@ -227,6 +231,46 @@ class UserControllerTest {
                 .andReturn();
     }
 
+    @Test
+    @DisplayName("Users of one tenant are not visible to another tenant")
+    void register_TenantHeader_IsolatesTenants() throws Exception {
+        //Given
+        User user = getUser();
+        mockMvc.perform(post("/api/users")
+                        .header(TenantInterceptor.TENANT_HEADER, "first")
+                        .content(objectMapper.writeValueAsString(user))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        //When
+        MvcResult first = mockMvc.perform(get("/api/tenants/first/users"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult second = mockMvc.perform(get("/api/users")
+                        .header(TenantInterceptor.TENANT_HEADER, "second"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then
+        List<User> firstUsers = objectMapper.readValue(first.getResponse().getContentAsString(),
+                new TypeReference<List<User>>() {});
+        List<User> secondUsers = objectMapper.readValue(second.getResponse().getContentAsString(),
+                new TypeReference<List<User>>() {});
+        assertEquals(1, firstUsers.size());
+        assertEquals(0, secondUsers.size());
+        assertTrue(userStores.find("second").isEmpty());
+        assertEquals(0, userStores.current().size());
+        userStores.get("first").clear();
+    }
+
+    @Test
+    @DisplayName("Invalid tenant is rejected")
+    void getAll_InvalidTenant_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .header(TenantInterceptor.TENANT_HEADER, "../other"))
+                .andExpect(status().isBadRequest());
+    }
+
     private User getUser(){
         return new User()
                 .setEmail("user@email.com")
@@ -0,0 +1,45 @@
+package com.example.userhandler.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties so
+ * they can be passed on the Maven command line.
+ */
+record LoadTestSettings(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seedUsers,
+        Map<Operation, Integer> mix,
+        double sloP99Millis,
+        double sloP999Millis,
+        double sloMaxErrorRate
+) {
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT5S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                Integer.getInteger("loadtest.seedUsers", 10_000),
+                parseMix(System.getProperty("loadtest.mix", "register:20,update:20,delete:5,getAll:1,search:54")),
+                Double.parseDouble(System.getProperty("loadtest.slo.p99Ms", "100")),
+                Double.parseDouble(System.getProperty("loadtest.slo.p999Ms", "250")),
+                Double.parseDouble(System.getProperty("loadtest.slo.maxErrorRate", "0.001"))
+        );
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.userhandler.loadtest;
+
+import java.util.Arrays;
+
+enum Operation {
+    REGISTER("register"),
+    UPDATE("update"),
+    DELETE("delete"),
+    GET_ALL("getAll"),
+    SEARCH("search");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test operation: " + name));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
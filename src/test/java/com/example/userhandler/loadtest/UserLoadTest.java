@@ -0,0 +1,252 @@
+package com.example.userhandler.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.userhandler.model.User;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.tenant.TenantInterceptor;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Drives the running application over HTTP with an open workload: requests
+ * are started at a fixed rate regardless of how many are still in flight,
+ * and latency is measured from the intended start time, so a stalled server
+ * cannot hide its queueing delay (coordinated omission).
+ *
+ * <p>Excluded from the default build, run it with
+ * {@code mvn -Pload-test test -Dloadtest.rate=500 -Dloadtest.duration=PT1M}.
+ * See {@link LoadTestSettings} for all parameters. The first quarter of the
+ * seeded users is reserved for deletes, so the seed has to be larger than
+ * the number of deletes issued during the run. Requests still unanswered when
+ * the drain period ends are counted as errors at their latency so far, and
+ * throughput is measured over the send window only.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserLoadTest {
+    private static final String TENANT = "load-test";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    private static final int BIRTH_DATE_DAYS = 50 * 365;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger nextDelete = new AtomicInteger();
+    private final AtomicLong nextRegister = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserStores userStores;
+
+    @Test
+    @DisplayName("User API meets its latency SLO under an open-model traffic mix")
+    void userApi_OpenModelTrafficMix_MeetsLatencySlo() throws InterruptedException {
+        //Given
+        seedUsers();
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        List<Operation> schedule = weightedOperations();
+
+        //When
+        long sendWindowNanos = run(schedule);
+
+        //Then
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        histograms.values().forEach(total::add);
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        printReport(total, totalErrors, sendWindowNanos);
+
+        List<String> violations = new ArrayList<>();
+        double p99 = total.getValueAtPercentile(99) / 1000.0;
+        double p999 = total.getValueAtPercentile(99.9) / 1000.0;
+        double errorRate = total.getTotalCount() == 0 ? 1 : (double) totalErrors / total.getTotalCount();
+        if (p99 > settings.sloP99Millis()) {
+            violations.add("p99 " + p99 + " ms > " + settings.sloP99Millis() + " ms");
+        }
+        if (p999 > settings.sloP999Millis()) {
+            violations.add("p99.9 " + p999 + " ms > " + settings.sloP999Millis() + " ms");
+        }
+        if (errorRate > settings.sloMaxErrorRate()) {
+            violations.add("error rate " + errorRate + " > " + settings.sloMaxErrorRate());
+        }
+        assertTrue(violations.isEmpty(), "SLO violated: " + String.join(", ", violations));
+        userStores.get(TENANT).clear();
+    }
+
+    /**
+     * Sends the schedule and waits for the answers, returns the length of
+     * the measured send window.
+     */
+    private long run(List<Operation> schedule) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+        Map<Long, Operation> measuredInFlight = new ConcurrentHashMap<>();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = schedule.get(ThreadLocalRandom.current().nextInt(schedule.size()));
+            long id = i;
+            if (intendedStart >= measureFrom) {
+                measuredInFlight.put(id, operation);
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (measuredInFlight.remove(id) != null) {
+                            record(operation, intendedStart, ex != null || response.statusCode() >= 400);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long sendWindowNanos = System.nanoTime() - measureFrom;
+        long drainUntil = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        for (Long id : measuredInFlight.keySet()) {
+            Operation operation = measuredInFlight.remove(id);
+            if (operation != null) {
+                record(operation, start + id * intervalNanos, true);
+            }
+        }
+        return sendWindowNanos;
+    }
+
+    private void record(Operation operation, long intendedStart, boolean error) {
+        long micros = (System.nanoTime() - intendedStart) / 1000;
+        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (error) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(REQUEST_TIMEOUT)
+                .header(TenantInterceptor.TENANT_HEADER, TENANT)
+                .header("Content-Type", "application/json");
+        return switch (operation) {
+            case REGISTER -> builder.uri(uri("/api/users"))
+                    .POST(HttpRequest.BodyPublishers.ofString(userJson("load-" + nextRegister.incrementAndGet())))
+                    .build();
+            case UPDATE -> builder.uri(uri("/api/users/" + email(settings.seedUsers() / 4
+                            + random.nextInt(settings.seedUsers() - settings.seedUsers() / 4))))
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"address\":\"Street " + random.nextInt(1000) + "\"}"))
+                    .build();
+            case DELETE -> builder.uri(uri("/api/users/" + email(nextDelete.getAndIncrement())))
+                    .DELETE()
+                    .build();
+            case GET_ALL -> builder.uri(uri("/api/users"))
+                    .GET()
+                    .build();
+            case SEARCH -> {
+                LocalDate from = FIRST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_DAYS));
+                yield builder.uri(uri("/api/users/search?from=" + from + "&to=" + from.plusDays(30)))
+                        .GET()
+                        .build();
+            }
+        };
+    }
+
+    private void seedUsers() {
+        UserStore store = userStores.get(TENANT);
+        store.clear();
+        List<User> users = new ArrayList<>(settings.seedUsers());
+        for (int i = 0; i < settings.seedUsers(); i++) {
+            users.add(new User()
+                    .setEmail(email(i))
+                    .setFirstName("Name" + i % 500)
+                    .setLastName("Surname" + i % 2000)
+                    .setBirthDate(FIRST_BIRTH_DATE.plusDays(i % BIRTH_DATE_DAYS))
+                    .setAddress("Street " + i % 1000)
+                    .setPhoneNumber("123456789"));
+        }
+        store.addAll(users);
+    }
+
+    private List<Operation> weightedOperations() {
+        List<Operation> schedule = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule;
+    }
+
+    private void printReport(Histogram total, long totalErrors, long sendWindowNanos) {
+        double seconds = sendWindowNanos / 1e9;
+        System.out.printf("%nLoad test: %d req/s target for %s after %s warmup%n",
+                settings.rate(), settings.duration(), settings.warmup());
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((operation, histogram) -> printRow(operation.toString(), histogram,
+                errors.get(operation).sum()));
+        printRow("total", total, totalErrors);
+        System.out.printf("throughput: %.1f req/s%n%n", total.getTotalCount() / seconds);
+    }
+
+    private void printRow(String name, Histogram histogram, long errorCount) {
+        System.out.printf("%-10s %10d %8d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(),
+                errorCount, histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String email(long id) {
+        return "user-" + id + "@load.test";
+    }
+
+    private static String userJson(String id) {
+        return "{\"email\":\"" + id + "@load.test\",\"firstName\":\"Name\",\"lastName\":\"Surname\","
+                + "\"birthDate\":\"1990-01-01\",\"address\":\"Street 1\",\"phoneNumber\":\"123456789\"}";
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.userhandler.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.userhandler.exception.TenantQuotaExceededException;
+import com.example.userhandler.exception.UserNotFoundException;
+import com.example.userhandler.model.User;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UserStoreTest {
+    @TempDir
+    private Path coldDirectory;
+
+    @Test
+    @DisplayName("Verify TenantQuotaExceededException is thrown when the memory quota is exceeded")
+    public void add_QuotaExceeded_ThrowsTenantQuotaExceededException() {
+        //Given
+        User user = getUser();
+        UserStore store = new UserStore("tenant", UserStore.estimateSize(user) * 2);
+        store.add(user);
+        store.add(getUser());
+
+        //When
+        TenantQuotaExceededException exception = assertThrows(TenantQuotaExceededException.class,
+                () -> store.add(getUser()));
+
+        //Then
+        assertEquals(2, store.size());
+        assertEquals("Tenant tenant exceeded its memory quota of " + store.getMaxMemoryBytes() + " bytes",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify an update growing a user past the memory quota is rolled back")
+    public void update_QuotaExceeded_RollsBackChange() {
+        //Given
+        User user = getUser();
+        UserStore store = new UserStore("tenant", UserStore.estimateSize(user) + 10);
+        store.add(user);
+
+        //When
+        assertThrows(TenantQuotaExceededException.class,
+                () -> store.update(user, u -> u.setAddress("a".repeat(100)).setFirstName("Other")));
+
+        //Then
+        assertEquals("Address", user.getAddress());
+        assertEquals("Name", user.getFirstName());
+        assertEquals(UserStore.estimateSize(user), store.getEstimatedBytes());
+        store.update(user, u -> u.setAddress("a".repeat(17)));
+        assertEquals(store.getMaxMemoryBytes(), store.getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Verify a cold user is not faulted in past the memory quota")
+    public void findByEmail_QuotaExceeded_KeepsUserCold() {
+        //Given
+        User user = getUser();
+        UserStore store = new UserStore("tenant", UserStore.estimateSize(user), coldDirectory, null, 0);
+        store.add(user);
+        store.evictIdle(System.currentTimeMillis() + 1, 10);
+        store.add(getUser().setEmail("othr@email.com"));
+
+        //When
+        assertThrows(TenantQuotaExceededException.class, () -> store.findByEmail(user.getEmail()));
+
+        //Then
+        assertEquals(1, store.getColdSize());
+        assertEquals(2, store.size());
+        store.removeByEmail("othr@email.com");
+        assertEquals(user, store.findByEmail(user.getEmail()).orElseThrow());
+        assertEquals(0, store.getColdSize());
+    }
+
+    @Test
+    @DisplayName("Verify estimated bytes follow updates and removals")
+    public void update_ChangedUser_AdjustsEstimatedBytes() {
+        //Given
+        UserStore store = new UserStore("tenant", 0);
+        User user = getUser();
+        store.add(user);
+
+        //When
+        store.update(user, u -> u.setAddress(u.getAddress() + "-longer"));
+
+        //Then
+        assertEquals(UserStore.estimateSize(user), store.getEstimatedBytes());
+        store.removeByEmail(user.getEmail());
+        assertEquals(0, store.getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Verify updating a user removed meanwhile throws UserNotFoundException")
+    public void update_RemovedUser_ThrowsUserNotFoundException() {
+        //Given
+        UserStore store = new UserStore("tenant", 0);
+        User user = getUser();
+        store.add(user);
+        store.removeByEmail(user.getEmail());
+
+        //When
+        assertThrows(UserNotFoundException.class, () -> store.update(user, u -> u.setAddress("Other")));
+
+        //Then
+        assertEquals("Address", user.getAddress());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Verify idle users are evicted to the cold tier and still readable")
+    public void evictIdle_IdleUsers_MovesUsersToColdTier() {
+        //Given
+        UserStore store = new UserStore("tenant", 0, coldDirectory, null, 0);
+        User user = getUser();
+        User other = getUser().setEmail("other@email.com").setBirthDate(LocalDate.of(1990, 1, 1));
+        store.addAll(List.of(user, other));
+
+        //When
+        int evicted = store.evictIdle(System.currentTimeMillis() + 1, 10);
+
+        //Then
+        assertEquals(2, evicted);
+        assertEquals(2, store.getColdSize());
+        assertEquals(0, store.getEstimatedBytes());
+        assertEquals(List.of(user, other), store.findAll());
+        assertEquals(List.of(other),
+                store.findByBirthDateRange(LocalDate.of(1989, 1, 1), LocalDate.of(1991, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Verify a cold user is faulted back in on lookup")
+    public void findByEmail_ColdUser_FaultsUserIn() {
+        //Given
+        UserStore store = new UserStore("tenant", 0, coldDirectory, null, 0);
+        User user = getUser();
+        store.add(user);
+        store.evictIdle(System.currentTimeMillis() + 1, 10);
+
+        //When
+        User found = store.findByEmail(user.getEmail()).orElseThrow();
+
+        //Then
+        assertEquals(user, found);
+        assertEquals(0, store.getColdSize());
+        assertEquals(1, store.size());
+        assertEquals(UserStore.estimateSize(user), store.getEstimatedBytes());
+        assertSame(found, store.findByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Verify recently accessed users are not evicted and cold users can be removed")
+    public void evictIdle_AccessedUser_KeepsUserOnHeap() {
+        //Given
+        UserStore store = new UserStore("tenant", 0, coldDirectory, null, 0);
+        User user = getUser();
+        User other = getUser().setEmail("other@email.com");
+        store.addAll(List.of(user, other));
+        long idleSince = System.currentTimeMillis() + 1;
+        while (System.currentTimeMillis() < idleSince) {
+            Thread.onSpinWait();
+        }
+        store.findByEmail(user.getEmail());
+
+        //When
+        int evicted = store.evictIdle(idleSince, 10);
+
+        //Then
+        assertEquals(1, evicted);
+        assertTrue(store.removeByEmail(other.getEmail()));
+        assertEquals(List.of(user), store.findAll());
+    }
+
+    @Test
+    @DisplayName("Verify users stay on the heap when the cold tier cannot be written")
+    public void evictIdle_UnwritableColdTier_KeepsUsersOnHeap() throws Exception {
+        //Given
+        Path notADirectory = Files.createFile(coldDirectory.resolve("file"));
+        UserStore store = new UserStore("tenant", 0, notADirectory, null, 0);
+        User user = getUser();
+        store.add(user);
+
+        //When
+        assertThrows(UncheckedIOException.class, () -> store.evictIdle(System.currentTimeMillis() + 1, 10));
+
+        //Then
+        assertEquals(List.of(user), store.findAll());
+        assertEquals(0, store.getColdSize());
+        assertEquals(UserStore.estimateSize(user), store.getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Verify stores sharing a cold directory keep separate files and long fields survive eviction")
+    public void evictIdle_SharedDirectoryAndLongField_KeepsUsersReadable() {
+        //Given
+        UserStore store = new UserStore("tenant", 0, coldDirectory, null, 0);
+        UserStore other = new UserStore("tenant", 0, coldDirectory, null, 0);
+        User user = getUser().setAddress("a".repeat(70_000));
+        User otherUser = getUser().setEmail("other@email.com");
+        store.add(user);
+        other.add(otherUser);
+
+        //When
+        store.evictIdle(System.currentTimeMillis() + 1, 10);
+        other.evictIdle(System.currentTimeMillis() + 1, 10);
+
+        //Then
+        assertEquals(List.of(user), store.findAll());
+        assertEquals(List.of(otherUser), other.findAll());
+        store.clear();
+        assertEquals(List.of(otherUser), other.findAll());
+    }
+
+    @Test
+    @DisplayName("Verify a failing cold tier compaction keeps every user readable")
+    public void compactColdTier_CompactionFails_KeepsUsers() throws Exception {
+        //Given
+        UserStore store = new UserStore("tenant", 0, coldDirectory, null, 0);
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            users.add(getUser().setEmail("u" + i + "@email.com").setAddress(randomText(random, 8 * 1024)));
+        }
+        store.addAll(users);
+        store.evictIdle(System.currentTimeMillis() + 1, users.size());
+        Path coldFile;
+        try (Stream<Path> files = Files.list(coldDirectory)) {
+            coldFile = files.findFirst().orElseThrow();
+        }
+        Path blocked = Files.createDirectory(coldDirectory.resolve(coldFile.getFileName() + ".compacting"));
+        Files.createFile(blocked.resolve("other"));
+        for (int i = 0; i < 250; i++) {
+            store.findByEmail("u" + i + "@email.com").orElseThrow();
+        }
+
+        //When
+        assertThrows(UncheckedIOException.class, store::compactColdTier);
+
+        //Then
+        assertEquals(300, store.size());
+        assertEquals(50, store.getColdSize());
+        assertEquals(300, store.countByBirthDateRange(LocalDate.MIN, LocalDate.MAX));
+        assertEquals(users.get(299), store.findByEmail("u299@email.com").orElseThrow());
+        assertEquals(300, store.findAll().size());
+        long sizeBefore = Files.size(coldFile);
+        Files.delete(blocked.resolve("other"));
+        Files.delete(blocked);
+        store.compactColdTier();
+        assertTrue(Files.size(coldFile) < sizeBefore);
+        assertEquals(users.get(298), store.findByEmail("u298@email.com").orElseThrow());
+        assertEquals(300, store.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Verify stored users share pooled name and address strings")
+    public void addAll_RepeatedStrings_SharesPooledInstances() {
+        //Given
+        StringInterner stringInterner = new StringInterner(1024);
+        UserStore store = new UserStore("tenant", 0, null, stringInterner, 0);
+        User user = getUser().setFirstName(new String("Name")).setAddress(new String("Address"));
+        User other = getUser().setFirstName(new String("Name")).setAddress(new String("Address"));
+
+        //When
+        store.addAll(List.of(user, other));
+
+        //Then
+        assertSame(user.getFirstName(), other.getFirstName());
+        assertSame(user.getAddress(), other.getAddress());
+        assertEquals(2, stringInterner.getHits());
+        assertTrue(stringInterner.getDuplicateBytesReplaced() > 0);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+
+    private User getUser() {
+        return new User()
+                .setEmail("user@email.com")
+                .setFirstName("Name")
+                .setLastName("Surname")
+                .setBirthDate(LocalDate.of(2000, 1, 1))
+                .setAddress("Address")
+                .setPhoneNumber("123456789");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.userhandler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.userhandler.event.UserBirthdayEvent;
+import com.example.userhandler.event.UserEligibleEvent;
+import com.example.userhandler.model.User;
+import com.example.userhandler.model.UserAge;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStore;
+import com.example.userhandler.resource.UserStores;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BirthdaySweepTaskTest {
+    private final List<Object> events = new ArrayList<>();
+    private UserStores userStores;
+    private BirthdaySweepTask birthdaySweepTask;
+
+    @BeforeEach
+    public void setUp() {
+        userStores = new UserStores(new StringInterner(1024));
+        ReflectionTestUtils.setField(userStores, "minAgeAllowed", 18);
+        birthdaySweepTask = new BirthdaySweepTask(userStores, events::add);
+    }
+
+    @Test
+    @DisplayName("Verify birthday events are published for the users born on the swept day")
+    public void sweep_UsersWithBirthday_PublishesBirthdayEvents() {
+        //Given
+        UserStore store = userStores.current();
+        User moved = getUser("moved@email.com", LocalDate.of(1990, 3, 1));
+        store.addAll(List.of(
+                getUser("birthday@email.com", LocalDate.of(1990, 3, 1)),
+                getUser("leap@email.com", LocalDate.of(1992, 2, 29)),
+                getUser("deleted@email.com", LocalDate.of(1980, 3, 1)),
+                moved));
+        store.update(moved, u -> u.setBirthDate(LocalDate.of(1990, 3, 2)));
+        store.removeByEmail("deleted@email.com");
+
+        //When
+        birthdaySweepTask.sweep(LocalDate.of(2023, 2, 28));
+        birthdaySweepTask.sweep(LocalDate.of(2023, 3, 1));
+
+        //Then
+        assertEquals(List.of("leap@email.com", "birthday@email.com"), events.stream()
+                .map(event -> ((UserBirthdayEvent) event).getEmail())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Verify an eligibility event is published once and a day is swept once")
+    public void sweep_UserReachingMinAge_PublishesEligibleEventOnce() {
+        //Given
+        LocalDate eligibleOn = LocalDate.now().plusDays(5);
+        userStores.current().add(getUser("young@email.com", eligibleOn.minusYears(18)));
+
+        //When
+        birthdaySweepTask.sweep(eligibleOn.minusDays(1));
+        birthdaySweepTask.sweep(eligibleOn);
+        birthdaySweepTask.sweep(eligibleOn);
+        birthdaySweepTask.sweep(eligibleOn.plusDays(1));
+
+        //Then
+        List<UserEligibleEvent> eligible = events.stream()
+                .filter(UserEligibleEvent.class::isInstance)
+                .map(UserEligibleEvent.class::cast)
+                .toList();
+        long birthdays = events.stream().filter(UserBirthdayEvent.class::isInstance).count();
+        assertEquals(1, eligible.size());
+        assertEquals("young@email.com", eligible.get(0).getEmail());
+        assertEquals(eligibleOn, eligible.get(0).getDate());
+        assertEquals(1, birthdays);
+    }
+
+    @Test
+    @DisplayName("Verify a user born on February 29 becomes eligible on March 1 in common years")
+    public void sweep_UserBornOnFebruary29_PublishesEligibleEventOnMarch1() {
+        //Given
+        int leapYear = Year.now().getValue() - 17;
+        while (!Year.isLeap(leapYear)) {
+            leapYear++;
+        }
+        LocalDate birthDate = LocalDate.of(leapYear, 2, 29);
+        LocalDate eligibleOn = LocalDate.of(leapYear + 18, 3, 1);
+        userStores.current().add(getUser("leap@email.com", birthDate));
+
+        //When
+        birthdaySweepTask.sweep(eligibleOn.minusDays(1));
+        List<Object> beforeEligible = List.copyOf(events);
+        birthdaySweepTask.sweep(eligibleOn);
+
+        //Then
+        assertFalse(UserAge.isAllowed(birthDate, 18, eligibleOn.minusDays(1)));
+        assertTrue(beforeEligible.stream().noneMatch(UserEligibleEvent.class::isInstance));
+        assertEquals(List.of(eligibleOn), events.stream()
+                .filter(UserEligibleEvent.class::isInstance)
+                .map(event -> ((UserEligibleEvent) event).getDate())
+                .toList());
+    }
+
+    private User getUser(String email, LocalDate birthDate) {
+        return new User()
+                .setEmail(email)
+                .setFirstName("Name")
+                .setLastName("Surname")
+                .setBirthDate(birthDate)
+                .setAddress("Address")
+                .setPhoneNumber("123456789");
+    }
+}
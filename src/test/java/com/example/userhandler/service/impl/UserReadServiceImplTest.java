@@ -0,0 +1,89 @@
+package com.example.userhandler.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.userhandler.model.User;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStores;
+import com.example.userhandler.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class UserReadServiceImplTest {
+    private final UserStores userStores = new UserStores(new StringInterner(1024));
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    @Mock
+    private UserService userService;
+    private UserReadServiceImpl userReadService;
+
+    @BeforeEach
+    public void setUp() {
+        userReadService = new UserReadServiceImpl(userService, userStores, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Verify findAllAsJson() returns the users as JSON")
+    public void findAllAsJson_ReturnsEncodedUsers() throws Exception {
+        //Given
+        List<User> users = List.of(getUser());
+        when(userService.findAll()).thenReturn(users);
+
+        //When
+        byte[] actual = userReadService.findAllAsJson();
+
+        //Then
+        assertEquals(objectMapper.writeValueAsString(users), new String(actual));
+    }
+
+    @Test
+    @DisplayName("Verify a request arriving after a store change does not share in-flight bytes")
+    public void findAllAsJson_StoreChangedDuringRead_ComputesAgain() throws Exception {
+        //Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.findAll())
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return List.of();
+                })
+                .thenReturn(List.of(getUser()));
+        CompletableFuture<byte[]> first = CompletableFuture.supplyAsync(userReadService::findAllAsJson);
+        started.await();
+
+        //When
+        userStores.current().add(getUser());
+        byte[] second = userReadService.findAllAsJson();
+        release.countDown();
+
+        //Then
+        assertEquals("[]", new String(first.get(5, TimeUnit.SECONDS)));
+        assertEquals(objectMapper.writeValueAsString(List.of(getUser())), new String(second));
+        verify(userService, times(2)).findAll();
+    }
+
+    private User getUser() {
+        return new User()
+                .setEmail("user@email.com")
+                .setFirstName("Name")
+                .setLastName("Surname")
+                .setBirthDate(LocalDate.of(2000, 1, 1))
+                .setAddress("Address")
+                .setPhoneNumber("123456789");
+    }
+}
@@ -3,12 +3,12 @@ package com.example.userhandler.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.userhandler.exception.UserBadRequestException;
 import com.example.userhandler.exception.UserNotFoundException;
 import com.example.userhandler.model.User;
-import com.example.userhandler.resource.Users;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStores;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
@@ -18,24 +18,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
     private int minAgeAllowed;
+    @Spy
+    private UserStores userStores = new UserStores(new StringInterner(1024));
     @InjectMocks
     private UserServiceImpl userService;
 
     @BeforeEach
     public void setUp() {
         minAgeAllowed = 18;
-        Users.storage.clear();
+        userStores.current().clear();
     }
 
     @AfterEach
     public void afterEach() {
-        Users.storage.clear();
+        userStores.current().clear();
     }
 
     @Test
@@ -79,7 +82,7 @@ class UserServiceImplTest {
         User user = getUser();
         List<User> expectedUsers = List.of(user);
 
-        Users.storage.addAll(expectedUsers);
+        userStores.current().addAll(expectedUsers);
 
         //When
         List<User> actualUsers = userService.findAll();
@@ -93,7 +96,7 @@ class UserServiceImplTest {
     public void updateUser_ValidUser_ReturnsValidUser() {
         //Given
         User expected = getUser();
-        Users.storage.add(expected);
+        userStores.current().add(expected);
 
         //When
         User actual = userService.updateUser(expected.getEmail(), expected);
@@ -125,7 +128,7 @@ class UserServiceImplTest {
         //Given
         ReflectionTestUtils.setField(userService, "minAgeAllowed", minAgeAllowed);
         User user = getUser();
-        Users.storage.add(user);
+        userStores.current().add(user);
         user.setBirthDate(LocalDate.of(2016, 1, 1));
         String expected =  "Age: " + calculateAge(user.getBirthDate())
                 + " is not allowed. You must be at least "
@@ -146,13 +149,13 @@ class UserServiceImplTest {
     public void deleteUser_ExistingUser_UserDeletes() {
         //Given
         User user = getUser();
-        Users.storage.add(user);
+        userStores.current().add(user);
 
         //When
         userService.deleteUser(user.getEmail());
 
         //Then
-        assertTrue(Users.storage.isEmpty());
+        assertEquals(0, userStores.current().size());
     }
 
     @Test
@@ -183,7 +186,7 @@ class UserServiceImplTest {
         User user1 = getUser().setBirthDate(LocalDate.of(2005, 4, 22));
         User user2 = getUser().setBirthDate(LocalDate.of(2004, 5, 22));
 
-        Users.storage.addAll(List.of(user, user1, user2));
+        userStores.current().addAll(List.of(user, user1, user2));
 
         List<User> expected = List.of(user, user1);
 
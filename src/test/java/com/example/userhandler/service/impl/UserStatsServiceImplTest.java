@@ -0,0 +1,146 @@
+package com.example.userhandler.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.userhandler.model.AgeBracket;
+import com.example.userhandler.model.User;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStores;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+    @Spy
+    private UserStores userStores = new UserStores(new StringInterner(1024));
+    @InjectMocks
+    private UserStatsServiceImpl userStatsService;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(userStatsService, "minAgeAllowed", 18);
+        userStores.current().clear();
+        userStores.current().addAll(List.of(
+                getUser().setBirthDate(LocalDate.of(1990, 1, 31)),
+                getUser().setBirthDate(LocalDate.of(1990, 2, 1)),
+                getUser().setBirthDate(LocalDate.of(1991, 12, 31)),
+                getUser().setBirthDate(LocalDate.of(1850, 6, 1))));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        userStores.current().clear();
+    }
+
+    @Test
+    @DisplayName("Verify countByBirthDateRange() counts inclusive ranges")
+    public void countByBirthDateRange_ValidFromTo_ReturnsCount() {
+        assertEquals(2, userStatsService.countByBirthDateRange(LocalDate.of(1990, 1, 31),
+                LocalDate.of(1990, 2, 1)));
+        assertEquals(4, userStatsService.countByBirthDateRange(LocalDate.of(1800, 1, 1),
+                LocalDate.of(2000, 1, 1)));
+        assertEquals(0, userStatsService.countByBirthDateRange(LocalDate.of(1990, 2, 2),
+                LocalDate.of(1991, 12, 30)));
+    }
+
+    @Test
+    @DisplayName("Verify countByBirthYear() and countByBirthMonth() return every bucket")
+    public void countByBirthYearAndMonth_ValidRange_ReturnsBuckets() {
+        //When
+        Map<Integer, Long> years = userStatsService.countByBirthYear(1989, 1991);
+        Map<YearMonth, Long> months = userStatsService.countByBirthMonth(YearMonth.of(1990, 1),
+                YearMonth.of(1990, 3));
+
+        //Then
+        assertEquals(Map.of(1989, 0L, 1990, 2L, 1991, 1L), years);
+        assertEquals(Map.of(YearMonth.of(1990, 1), 1L, YearMonth.of(1990, 2), 1L, YearMonth.of(1990, 3), 0L),
+                months);
+    }
+
+    @Test
+    @DisplayName("Verify counts follow updates and deletes")
+    public void countByBirthYear_UpdatedAndDeletedUsers_ReturnsCurrentCounts() {
+        //Given
+        User user = getUser().setEmail("moved@email.com").setBirthDate(LocalDate.of(1995, 5, 5));
+        userStores.current().add(user);
+
+        //When
+        userStores.current().update(user, u -> u.setBirthDate(LocalDate.of(1991, 5, 5)));
+        userStores.current().removeByEmail("user@email.com");
+
+        //Then
+        assertEquals(Map.of(1990, 0L, 1991, 1L, 1995, 0L), Map.of(
+                1990, userStatsService.countByBirthYear(1990, 1990).get(1990),
+                1991, userStatsService.countByBirthYear(1991, 1991).get(1991),
+                1995, userStatsService.countByBirthYear(1995, 1995).get(1995)));
+    }
+
+    @Test
+    @DisplayName("Verify countByAgeBracket() starts with the users younger than minAgeAllowed")
+    public void countByAgeBracket_ValidSize_ReturnsBrackets() {
+        //Given
+        LocalDate today = LocalDate.now();
+        userStores.current().clear();
+        userStores.current().addAll(List.of(
+                getUser().setBirthDate(today.minusYears(10)),
+                getUser().setBirthDate(today.minusYears(18)),
+                getUser().setBirthDate(today.minusYears(28).plusDays(1)),
+                getUser().setBirthDate(today.minusYears(28))));
+
+        //When
+        List<AgeBracket> brackets = userStatsService.countByAgeBracket(10);
+
+        //Then
+        assertEquals(0, brackets.get(0).getFromAge());
+        assertEquals(17, brackets.get(0).getToAge());
+        assertEquals(1, brackets.get(0).getCount());
+        assertEquals(18, brackets.get(1).getFromAge());
+        assertEquals(27, brackets.get(1).getToAge());
+        assertEquals(2, brackets.get(1).getCount());
+        assertEquals(1, brackets.get(2).getCount());
+        assertEquals(null, brackets.get(brackets.size() - 1).getToAge());
+    }
+
+    @Test
+    @DisplayName("Verify countByBirthDateRange() throws IllegalArgumentException when to before from")
+    public void countByBirthDateRange_ToBeforeFrom_ThrowsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userStatsService.countByBirthDateRange(LocalDate.of(2005, 1, 1), LocalDate.of(2004, 1, 1)));
+
+        assertEquals("[from] date must be before [to] date", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify out of range years and bracket sizes throw IllegalArgumentException")
+    public void countByBirthYearAndAgeBracket_OutOfRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userStatsService.countByBirthYear(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> userStatsService.countByAgeBracket(Integer.MAX_VALUE));
+        assertEquals(2, userStatsService.countByBirthMonth(YearMonth.of(Year.MAX_VALUE, 11),
+                YearMonth.of(Year.MAX_VALUE, 12)).size());
+    }
+
+    private User getUser() {
+        return new User()
+                .setEmail("user@email.com")
+                .setFirstName("Name")
+                .setLastName("Surname")
+                .setBirthDate(LocalDate.of(2000, 1, 1))
+                .setAddress("Address")
+                .setPhoneNumber("123456789");
+    }
+}
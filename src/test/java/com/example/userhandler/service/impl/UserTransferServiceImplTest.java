@@ -0,0 +1,161 @@
+package com.example.userhandler.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.userhandler.exception.TenantQuotaExceededException;
+import com.example.userhandler.model.TransferReport;
+import com.example.userhandler.model.User;
+import com.example.userhandler.resource.StringInterner;
+import com.example.userhandler.resource.UserStores;
+import jakarta.validation.Validation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class UserTransferServiceImplTest {
+    @TempDir
+    private Path transferDirectory;
+    private final UserStores userStores = new UserStores(new StringInterner(1024));
+    private UserTransferServiceImpl userTransferService;
+
+    @BeforeEach
+    public void setUp() {
+        userTransferService = new UserTransferServiceImpl(Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), userStores);
+        ReflectionTestUtils.setField(userTransferService, "minAgeAllowed", 18);
+        ReflectionTestUtils.setField(userTransferService, "transferDirectory", transferDirectory);
+        userStores.current().clear();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        userStores.current().clear();
+    }
+
+    @Test
+    @DisplayName("Verify exported users are imported back unchanged")
+    public void exportUsers_ThenImportUsers_RestoresUsers() {
+        //Given
+        for (int i = 0; i < 1000; i++) {
+            userStores.current().add(getUser().setEmail("user" + i + "@email.com"));
+        }
+        List<User> expected = userStores.current().findAll();
+
+        //When
+        TransferReport exportReport = userTransferService.exportUsers("users.ndjson");
+        userStores.current().clear();
+        TransferReport importReport = userTransferService.importUsers("users.ndjson");
+
+        //Then
+        assertEquals(1000, exportReport.getProcessedRecords().get());
+        assertEquals(1000, importReport.getImportedRecords().get());
+        assertEquals(0, importReport.getRejectedRecords().get());
+        assertEquals(exportReport.getTotalBytes().get(), importReport.getProcessedBytes().get());
+        assertTrue(importReport.isFinished());
+        assertEquals(expected, userStores.current().findAll());
+    }
+
+    @Test
+    @DisplayName("Verify a failed export leaves no temporary file behind")
+    public void exportUsers_TargetNotWritable_DeletesTemporaryFile() throws IOException {
+        //Given
+        userStores.current().add(getUser());
+        Files.createFile(Files.createDirectory(transferDirectory.resolve("users.ndjson")).resolve("other"));
+
+        //When
+        assertThrows(UncheckedIOException.class, () -> userTransferService.exportUsers("users.ndjson"));
+
+        //Then
+        try (Stream<Path> files = Files.list(transferDirectory)) {
+            assertEquals(List.of(transferDirectory.resolve("users.ndjson")), files.toList());
+        }
+        assertTrue(userTransferService.getLastTransfer().isFinished());
+    }
+
+    @Test
+    @DisplayName("Verify users rejected by the tenant quota are not reported as imported")
+    public void importUsers_QuotaExceeded_ReportsFailure() throws IOException {
+        //Given
+        Files.writeString(transferDirectory.resolve("users.ndjson"),
+                "{\"email\":\"user@email.com\",\"firstName\":\"Name\",\"lastName\":\"Surname\","
+                        + "\"birthDate\":\"2000-01-01\"}\n");
+        UserStores limitedStores = new UserStores(new StringInterner(1024));
+        ReflectionTestUtils.setField(limitedStores, "maxMemoryBytes", 1L);
+        UserTransferServiceImpl limitedTransferService = new UserTransferServiceImpl(
+                Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), limitedStores);
+        ReflectionTestUtils.setField(limitedTransferService, "minAgeAllowed", 18);
+        ReflectionTestUtils.setField(limitedTransferService, "transferDirectory", transferDirectory);
+
+        //When
+        assertThrows(TenantQuotaExceededException.class,
+                () -> limitedTransferService.importUsers("users.ndjson"));
+
+        //Then
+        TransferReport report = limitedTransferService.getLastTransfer();
+        assertEquals(1, report.getProcessedRecords().get());
+        assertEquals(0, report.getImportedRecords().get());
+        assertEquals(0, report.getCommittedBytes().get());
+        assertEquals("Tenant default exceeded its memory quota of 1 bytes", report.getError());
+        assertEquals(0, limitedStores.current().size());
+    }
+
+    @Test
+    @DisplayName("Verify invalid and malformed lines are rejected")
+    public void importUsers_InvalidLines_RejectsOnlyInvalidLines() throws IOException {
+        //Given
+        Files.writeString(transferDirectory.resolve("users.ndjson"), String.join("\n",
+                "{\"email\":\"user@email.com\",\"firstName\":\"Name\",\"lastName\":\"Surname\","
+                        + "\"birthDate\":\"2000-01-01\"}",
+                "{\"email\":\"young@email.com\",\"firstName\":\"Name\",\"lastName\":\"Surname\","
+                        + "\"birthDate\":\"2016-01-01\"}",
+                "{\"email\":\"invalid\",\"firstName\":\"Name\",\"lastName\":\"Surname\","
+                        + "\"birthDate\":\"2000-01-01\"}",
+                "{not json",
+                ""));
+
+        //When
+        TransferReport report = userTransferService.importUsers("users.ndjson");
+
+        //Then
+        assertEquals(4, report.getProcessedRecords().get());
+        assertEquals(1, report.getImportedRecords().get());
+        assertEquals(3, report.getRejectedRecords().get());
+        assertEquals(1, userStores.current().size());
+        assertEquals("user@email.com", userStores.current().findAll().get(0).getEmail());
+    }
+
+    @Test
+    @DisplayName("Verify IllegalArgumentException is thrown for file names outside the transfer directory")
+    public void importUsers_FileOutsideDirectory_ThrowsIllegalArgumentException() {
+        //When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userTransferService.importUsers("../users.ndjson"));
+
+        //Then
+        assertEquals("Invalid transfer file name: ../users.ndjson", exception.getMessage());
+    }
+
+    private User getUser() {
+        return new User()
+                .setEmail("user@email.com")
+                .setFirstName("Name")
+                .setLastName("Surname")
+                .setBirthDate(LocalDate.of(2000, 1, 1))
+                .setAddress("Address")
+                .setPhoneNumber("123456789");
+    }
+}